@@ -0,0 +1,171 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.view.inputmethod.InputConnection;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class GameBoardViewTest {
+    private static final int FRAMES = 200;
+
+    @Test
+    public void onDraw_doesNotAllocate() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            GameBoardView view = newBoard();
+            Canvas canvas = new Canvas(Bitmap.createBitmap(500, 600, Bitmap.Config.ARGB_8888));
+
+            // A finished row and a typing row with an active letter border
+            view.setRowResult(0, WordCodec.pack("WORDS"), GuessScorer.score("WORDS", "SWORD"));
+            view.setActiveRow(1);
+            view.setTypedWord("SWO");
+            assertEquals(0, countDrawAllocations(view, canvas));
+        });
+    }
+
+    @Test
+    public void setTypedWord_keepsOnlyLetters() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            GameBoardView view = newBoard();
+            assertEquals("", view.getTypedWord());
+            view.setActiveRow(0);
+            view.setTypedWord("a1b-cdefg");
+            assertEquals("ABCDE", view.getTypedWord());
+
+            view.setActiveRow(1);
+            assertEquals("", view.getTypedWord());
+            view.setActiveRow(0);
+            assertEquals("ABCDE", view.getTypedWord());
+            view.clear();
+            view.setActiveRow(0);
+            assertEquals("", view.getTypedWord());
+        });
+    }
+
+    @Test
+    public void inputConnection_replacesCompositionAndFiltersCommits() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            GameBoardView view = newBoard();
+            view.setActiveRow(2);
+            InputConnection connection = view.onCreateInputConnection(new EditorInfo());
+
+            connection.setComposingText("w", 1);
+            connection.setComposingText("wo", 1);
+            assertEquals("WO", view.getTypedWord());
+            connection.setComposingText("w", 1);
+            assertEquals("W", view.getTypedWord());
+            connection.commitText("wor", 1);
+            assertEquals("WOR", view.getTypedWord());
+
+            // Pasted text keeps only letters, as many as fit
+            connection.commitText("d-5 sx", 1);
+            assertEquals("WORDS", view.getTypedWord());
+            assertEquals("WORDS", connection.getTextBeforeCursor(10, 0).toString());
+
+            connection.deleteSurroundingText(2, 0);
+            assertEquals("WOR", view.getTypedWord());
+            connection.setComposingRegion(1, 3);
+            connection.setComposingText("ak", 1);
+            connection.finishComposingText();
+            assertEquals("WAK", view.getTypedWord());
+        });
+    }
+
+    @Test
+    public void typing_causesNoLayoutPass() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            GameBoardView view = newBoard();
+            view.setActiveRow(0);
+            assertFalse(view.isLayoutRequested());
+
+            // Keystrokes only invalidate tiles, the view tree is never measured again
+            view.typeLetter('w');
+            view.typeLetter('o');
+            view.deleteLetter();
+            assertEquals("W", view.getTypedWord());
+            view.setRowResult(0, WordCodec.pack("WORDS"), GuessScorer.score("WORDS", "SWORD"));
+            view.setActiveRow(1);
+            assertFalse(view.isLayoutRequested());
+        });
+    }
+
+    @Test
+    public void animationFrames_doNotAllocateAndStopWhenIdle() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            GameBoardView view = newBoard();
+            BoardAnimator animator = view.getAnimator();
+            Canvas canvas = new Canvas(Bitmap.createBitmap(500, 600, Bitmap.Config.ARGB_8888));
+            view.setActiveRow(0);
+            view.typeLetter('w');
+            view.setRowResult(0, WordCodec.pack("WORDS"), GuessScorer.score("WORDS", "SWORD"), true);
+            view.setActiveRow(1);
+            view.typeLetter('s');
+            view.shakeActiveRow();
+            assertTrue(animator.isRunning());
+
+            // Frames are driven by hand, a minute of 60 Hz frames is far longer than any effect
+            long frameTime = 0;
+            assertTrue(animator.advance(frameTime));
+            view.onDraw(canvas);
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            boolean running = true;
+            for (int i = 0; i < 3600 && running; i++) {
+                frameTime += 16_666_667L;
+                running = animator.advance(frameTime);
+                view.onDraw(canvas);
+            }
+            Debug.stopAllocCounting();
+            assertEquals(0, Debug.getThreadAllocCount());
+            assertFalse(running);
+            assertEquals(1, animator.popScale(0), 0);
+            assertTrue(animator.isRevealed(4));
+            assertEquals(0, animator.shakeOffset(1), 0);
+
+            view.clear();
+            assertFalse(animator.isRunning());
+        });
+    }
+
+    private static GameBoardView newBoard() {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), R.style.Theme_WordGame);
+        GameBoardView view = new GameBoardView(context);
+        view.measure(View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        assertEquals(600, view.getMeasuredHeight());
+        view.layout(0, 0, 500, 600);
+        return view;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int countDrawAllocations(GameBoardView view, Canvas canvas) {
+        // Warm up, e.g. glyph caches
+        for (int i = 0; i < FRAMES; i++) {
+            view.onDraw(canvas);
+        }
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < FRAMES; i++) {
+            view.onDraw(canvas);
+        }
+        Debug.stopAllocCounting();
+        return Debug.getThreadAllocCount();
+    }
+}
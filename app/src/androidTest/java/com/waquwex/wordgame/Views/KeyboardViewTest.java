@@ -0,0 +1,141 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class KeyboardViewTest {
+    private static final int FRAMES = 200;
+
+    @Test
+    public void onDraw_doesNotAllocate() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            KeyboardView view = newKeyboard();
+            Canvas canvas = new Canvas(Bitmap.createBitmap(500, 210, Bitmap.Config.ARGB_8888));
+            view.setKeyState(0, GuessScorer.KEY_CORRECT);
+            view.setKeyState(1, GuessScorer.KEY_PRESENT);
+            view.setKeyState(2, GuessScorer.KEY_ABSENT);
+
+            // Warm up, e.g. glyph caches
+            for (int i = 0; i < FRAMES; i++) {
+                view.onDraw(canvas);
+            }
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            for (int i = 0; i < FRAMES; i++) {
+                view.onDraw(canvas);
+            }
+            Debug.stopAllocCounting();
+            assertEquals(0, Debug.getThreadAllocCount());
+        });
+    }
+
+    @Test
+    public void tap_sendsTheKeyUnderTheFinger() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            KeyboardView view = newKeyboard();
+            StringBuilder keys = new StringBuilder();
+            view.setOnKeyListener(new KeyboardView.OnKeyListener() {
+                @Override
+                public void onLetter(char letter) {
+                    keys.append(letter);
+                }
+
+                @Override
+                public void onDelete() {
+                    keys.append('<');
+                }
+
+                @Override
+                public void onEnter() {
+                    keys.append('\n');
+                }
+            });
+
+            // Keys are 50 x 70, the last row starts with a 75 wide enter key
+            tap(view, 25, 35, 25, 35);
+            tap(view, 50, 105, 50, 105);
+            tap(view, 37, 175, 37, 175);
+            tap(view, 470, 175, 470, 175);
+            // Sliding off the key cancels it
+            tap(view, 25, 35, 125, 105);
+            assertEquals("QA\n<", keys.toString());
+        });
+    }
+
+    @Test
+    public void accessibilityClick_sendsTheKey() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            KeyboardView view = newKeyboard();
+            StringBuilder keys = new StringBuilder();
+            view.setOnKeyListener(new KeyboardView.OnKeyListener() {
+                @Override
+                public void onLetter(char letter) {
+                    keys.append(letter);
+                }
+
+                @Override
+                public void onDelete() {
+                    keys.append('<');
+                }
+
+                @Override
+                public void onEnter() {
+                    keys.append('\n');
+                }
+            });
+
+            // Virtual view ids are the key indexes, letters first
+            AccessibilityNodeProvider provider = view.getAccessibilityNodeProvider();
+            assertNotNull(provider);
+            AccessibilityNodeInfo q = provider.createAccessibilityNodeInfo('Q' - 'A');
+            assertEquals("Q", q.getContentDescription().toString());
+            assertTrue(provider.performAction('Q' - 'A', AccessibilityNodeInfo.ACTION_CLICK, null));
+            assertTrue(provider.performAction(27, AccessibilityNodeInfo.ACTION_CLICK, null));
+            assertEquals("Q<", keys.toString());
+        });
+    }
+
+    private static void tap(View view, float downX, float downY, float upX, float upY) {
+        long time = SystemClock.uptimeMillis();
+        MotionEvent down = MotionEvent.obtain(time, time, MotionEvent.ACTION_DOWN, downX, downY, 0);
+        MotionEvent move = MotionEvent.obtain(time, time, MotionEvent.ACTION_MOVE, upX, upY, 0);
+        MotionEvent up = MotionEvent.obtain(time, time, MotionEvent.ACTION_UP, upX, upY, 0);
+        view.dispatchTouchEvent(down);
+        view.dispatchTouchEvent(move);
+        view.dispatchTouchEvent(up);
+        down.recycle();
+        move.recycle();
+        up.recycle();
+    }
+
+    private static KeyboardView newKeyboard() {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), R.style.Theme_WordGame);
+        KeyboardView view = new KeyboardView(context);
+        view.measure(View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        assertEquals(210, view.getMeasuredHeight());
+        view.layout(0, 0, 500, 210);
+        return view;
+    }
+}
@@ -0,0 +1,82 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class MultiBoardViewTest {
+    private static final int FRAMES = 200;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void onDraw_doesNotAllocateWithEightBoards() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            MultiBoardView view = newView(8, 13);
+            Canvas canvas = new Canvas(Bitmap.createBitmap(500, 900, Bitmap.Config.ARGB_8888));
+            int guess = WordCodec.pack("WORDS");
+            for (int board = 0; board < 8; board++) {
+                for (int row = 0; row < 12; row++) {
+                    view.setRowResult(board, row, guess, GuessScorer.score("WORDS", "SWORD"));
+                }
+            }
+            view.setSolved(3);
+            view.setActiveRow(12);
+            view.setTypedWord("SWO");
+
+            for (int i = 0; i < FRAMES; i++) {
+                view.onDraw(canvas);
+            }
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            for (int i = 0; i < FRAMES; i++) {
+                view.onDraw(canvas);
+            }
+            Debug.stopAllocCounting();
+            assertEquals(0, Debug.getThreadAllocCount());
+        });
+    }
+
+    @Test
+    public void typing_keepsOnlyLettersAndResetsPerRow() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            MultiBoardView view = newView(2, 7);
+            view.typeLetter('a');
+            assertEquals("", view.getTypedWord());
+            view.setActiveRow(0);
+            view.setTypedWord("c1r-anes");
+            assertEquals("CRANE", view.getTypedWord());
+            view.deleteLetter();
+            assertEquals("CRAN", view.getTypedWord());
+            view.setActiveRow(1);
+            assertEquals("", view.getTypedWord());
+            assertFalse(view.isLayoutRequested());
+        });
+    }
+
+    private static MultiBoardView newView(int boards, int rows) {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), R.style.Theme_WordGame);
+        MultiBoardView view = new MultiBoardView(context);
+        view.setGame(boards, rows);
+        view.measure(View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(900, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, 500, 900);
+        return view;
+    }
+}
@@ -0,0 +1,58 @@
+package com.waquwex.wordgame.Dictionary;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+// Loads the word list compiled at build time (WordListFormat) from APK assets.
+// The asset is stored uncompressed so it can be mapped, words are never turned into objects.
+public final class AssetDictionaryLoader {
+    private AssetDictionaryLoader() {
+    }
+
+    public static WordDictionary load(AssetManager assets) throws IOException {
+        return WordListFormat.read(map(assets));
+    }
+
+    private static ByteBuffer map(AssetManager assets) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = assets.openFd(WordListFormat.ASSET_NAME);
+        } catch (IOException e) {
+            // Asset got compressed, openFd only works for stored entries
+            return readFully(assets);
+        }
+
+        try (AssetFileDescriptor fd = descriptor;
+             FileInputStream inputStream = fd.createInputStream()) {
+            FileChannel channel = inputStream.getChannel();
+            // Mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getDeclaredLength());
+        }
+    }
+
+    // Fallback: read until EOF into a growing array, then one copy into a direct buffer
+    private static ByteBuffer readFully(AssetManager assets) throws IOException {
+        try (InputStream inputStream = assets.open(WordListFormat.ASSET_NAME, AssetManager.ACCESS_STREAMING)) {
+            byte[] bytes = new byte[64 * 1024];
+            int length = 0;
+            int read;
+            while ((read = inputStream.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+            buffer.put(bytes, 0, length);
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.waquwex.wordgame.Game;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+// Keeps the current game in app-private storage (GameStateFormat) so it survives process death
+// and restarts. File access runs in order on the given executor: a new game rewrites the file
+// through AtomicFile, a submitted row only appends its record, and a read sees every write
+// made before it. Sessions are only touched on the main thread.
+public class GameStateStore {
+    private static final String TAG = "GAME_STATE";
+
+    public interface RestoreListener {
+        void onRestored(boolean restored);
+    }
+
+    private final AtomicFile file;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * @param executor Single threaded, so writes land in the order they were made
+     */
+    public GameStateStore(@NonNull File file, @NonNull Executor executor) {
+        this.file = new AtomicFile(file);
+        this.executor = executor;
+    }
+
+    /**
+     * Reads the saved game in background, then restores it into session on the main thread,
+     * see GameStateFormat.restore. Session is left unchanged if nothing usable is saved.
+     */
+    @MainThread
+    public void restore(@NonNull GameSession session, @NonNull RestoreListener listener) {
+        executor.execute(() -> {
+            byte[] data = read();
+            mainHandler.post(() -> listener.onRestored(
+                    data != null && GameStateFormat.restore(data, data.length, session)));
+        });
+    }
+
+    private byte[] read() {
+        try {
+            return file.readFully();
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "Couldn't read saved game", e);
+            return null;
+        }
+    }
+
+    // Replaces the saved game with session, e.g. when a game starts
+    @MainThread
+    public void saveGame(@NonNull GameSession session) {
+        byte[] data = GameStateFormat.encode(session);
+        executor.execute(() -> write(data));
+    }
+
+    // Appends the row submitted last. If the file doesn't hold the rows before it (e.g. a write
+    // failed) the whole game is saved instead, encoded on the main thread where session lives.
+    @MainThread
+    public void saveLastRow(@NonNull GameSession session) {
+        int row = session.getRowCount() - 1;
+        byte[] record = GameStateFormat.encodeRow(session, row);
+        long expectedLength = GameStateFormat.length(row);
+        executor.execute(() -> {
+            File base = file.getBaseFile();
+            if (base.length() != expectedLength) {
+                mainHandler.post(() -> saveGame(session));
+                return;
+            }
+            // A record cut short by a killed process is dropped on restore
+            try (FileOutputStream out = new FileOutputStream(base, true)) {
+                out.write(record);
+                out.getFD().sync();
+            } catch (IOException e) {
+                Log.w(TAG, "Couldn't append row " + row, e);
+            }
+        });
+    }
+
+    private void write(byte[] data) {
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(data);
+            file.finishWrite(out);
+        } catch (IOException e) {
+            if (out != null) {
+                file.failWrite(out);
+            }
+            Log.w(TAG, "Couldn't save game", e);
+        }
+    }
+}
@@ -1,63 +1,106 @@
 package com.waquwex.wordgame;
 
-import android.content.res.Configuration;
-import android.graphics.Rect;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
-import android.text.Spannable;
-import android.text.SpannableString;
-import android.text.style.BackgroundColorSpan;
-import android.util.Log;
+import android.os.Trace;
+import android.text.format.DateUtils;
 import android.view.View;
-import android.view.ViewGroup;
-import android.view.ViewTreeObserver;
-import android.view.inputmethod.EditorInfo;
 import android.widget.Button;
-import android.widget.LinearLayout;
+import android.widget.CheckBox;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.constraintlayout.widget.ConstraintLayout;
-
-import com.waquwex.wordgame.Utils.ArrayUtils;
-import com.waquwex.wordgame.Views.WordleEditText;
-
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Locale;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Game.GameStateStore;
+import com.waquwex.wordgame.Game.WordScheduler;
+import com.waquwex.wordgame.Metrics.Metrics;
+import com.waquwex.wordgame.Solver.CandidateSet;
+import com.waquwex.wordgame.Solver.EntropySolver;
+import com.waquwex.wordgame.Solver.FeedbackTable;
+import com.waquwex.wordgame.Stats.PlayerStats;
+import com.waquwex.wordgame.Utils.LayoutPassCounter;
+import com.waquwex.wordgame.Views.GameBoardView;
+import com.waquwex.wordgame.Views.KeyboardView;
+
+import java.io.File;
 import java.util.Random;
-
-public class MainActivity extends AppCompatActivity {
-    private ArrayList<String> allWords;
-    private String randomWord;
-    private final WordleEditText[] wordleEditTexts = new WordleEditText[6];
-    private int activeWordleEditTextIndex = 0;
-    private boolean gameOver = false;
+import java.util.TimeZone;
+
+public class MainActivity extends AppCompatActivity implements WordGameApplication.DictionaryListener,
+        WordGameApplication.FeedbackTableListener {
+    // Time an on-device hint may spend searching
+    private static final long HINT_BUDGET_NANOS = 50_000_000L;
+    private static final long METRICS_OVERLAY_INTERVAL_MS = 500;
+    private static final String GAME_STATE_FILE = "game_state.bin";
+    private static final String PREFERENCES = "word_game";
+    // Local day the daily word was last started on
+    private static final String PREF_DAILY_DAY = "daily_day";
+    private static final String PREF_ENDLESS_SEED = "endless_seed";
+    // Endless games started so far
+    private static final String PREF_ENDLESS_POSITION = "endless_position";
+    private static final String PREF_HARD_MODE = "hard_mode";
+
+    private WordDictionary dictionary;
+    GameBoardView gameBoard;
     Button replayButton;
-    TextView historyTextView;
-    ViewGroup mainContainer;
-    private static final char[] englishChars = {'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L',
-            'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'};
-    private int[] historyPoints = new int[26];
-    private int mainContentDefaultHeight = 0;
+    Button hintButton;
+    Button statsButton;
+    Button boardsButton;
+    CheckBox hardModeCheckBox;
+    KeyboardView keyboardView;
+    TextView remainingTextView;
+    TextView metricsOverlay;
+    // Game rules and state, created once the dictionary is ready
+    private GameSession session;
+    // Saved after every row, restores the game after process death or a restart
+    private GameStateStore gameStateStore;
+    // Picks the answers, created with the session
+    private WordScheduler scheduler;
+    private SharedPreferences preferences;
+    // Restored in onDictionaryReady
+    private int[] savedSession;
+    private long[] savedCandidates;
+    private String savedCurrentWord;
+    // Bottom padding applied for a soft keyboard, only changed when the IME inset changes
+    private int imeInset = 0;
+    // Debuggable builds only, logs the layout passes every key press causes
+    private LayoutPassCounter layoutPasses;
+    private Metrics metrics;
+    // Twice a second only, the overlay's own layout and frames show up in the numbers
+    private final Runnable updateMetricsOverlay = new Runnable() {
+        @Override
+        public void run() {
+            metricsOverlay.setText(metrics.summary());
+            metricsOverlay.postDelayed(this, METRICS_OVERLAY_INTERVAL_MS);
+        }
+    };
 
     @Override
     public void onSaveInstanceState(@NonNull Bundle outState) {
         super.onSaveInstanceState(outState);
 
-        outState.putString("randomWord", randomWord);
-        outState.putIntArray("historyPoints", historyPoints);
-        outState.putInt("activeWordleEditTextIndex", activeWordleEditTextIndex);
-        String[] currentWords = new String[6];
-        for (int i = 0; i < 6; i++) {
-            currentWords[i] = wordleEditTexts[i].getText().toString();
+        if (session == null) {
+            // Dictionary isn't loaded yet, keep what was restored
+            outState.putIntArray("session", savedSession);
+            outState.putLongArray("candidates", savedCandidates);
+            outState.putString("currentWord", savedCurrentWord);
+            return;
+        }
+        outState.putIntArray("session", session.saveState());
+        outState.putLongArray("candidates", session.getCandidates().toLongArray());
+        if (!session.isOver()) {
+            outState.putString("currentWord", gameBoard.getTypedWord());
         }
-
-        outState.putStringArray("currentWords", currentWords);
-        outState.putBoolean("gameOver", gameOver);
     }
 
     @Override
@@ -65,228 +108,371 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        mainContainer = findViewById(R.id.mainContainer);
-        if (mainContainer != null) {
-            mainContentDefaultHeight = mainContainer.getLayoutParams().height;
-        }
+        gameStateStore = new GameStateStore(new File(getFilesDir(), GAME_STATE_FILE),
+                ((WordGameApplication) getApplication()).getBackgroundExecutor());
+        preferences = getSharedPreferences(PREFERENCES, MODE_PRIVATE);
 
-        readWordList();
-
-        LinearLayout wordsRoot = findViewById(R.id.wordsRoot);
-        for (int i = 0; i < 6; i++) {
-            wordleEditTexts[i] = (WordleEditText) wordsRoot.getChildAt(i);
-            wordleEditTexts[i].setOnEditorActionListener((v, actionId, event) -> {
-                if (actionId == EditorInfo.IME_ACTION_DONE) {
-                    if (wordleEditTexts[activeWordleEditTextIndex] == v && v.getText().length() == 5) {
-                        submitWord();
-                    }
-                    return true; // Consume the event
-                }
-                return false; // Continue with the default behavior (e.g., newline character)
-            });
-        }
+        gameBoard = findViewById(R.id.gameBoard);
+        gameBoard.setOnSubmitListener(this::submitWord);
 
         replayButton = findViewById(R.id.replayButton);
-
-        // Retrieve saved state, e.g when rotation changes
-        if (savedInstanceState != null) {
-            String randomWordBundle = savedInstanceState.getString("randomWord");
-            if (randomWordBundle == null) {
-                Random random = new Random();
-                randomWord = allWords.get(random.nextInt(allWords.size())).toUpperCase(Locale.UK);
-                Log.i("RANDOM", randomWord);
-            } else {
-                randomWord = randomWordBundle;
-                Log.i("RANDOM", randomWord);
+        hintButton = findViewById(R.id.hintButton);
+        hintButton.setOnClickListener(view -> requestHint());
+        statsButton = findViewById(R.id.statsButton);
+        statsButton.setOnClickListener(view -> showStats());
+        boardsButton = findViewById(R.id.boardsButton);
+        boardsButton.setOnClickListener(view -> chooseBoards());
+        hardModeCheckBox = findViewById(R.id.hardModeCheckBox);
+        hardModeCheckBox.setChecked(preferences.getBoolean(PREF_HARD_MODE, false));
+        hardModeCheckBox.setOnCheckedChangeListener((view, checked) -> {
+            preferences.edit().putBoolean(PREF_HARD_MODE, checked).apply();
+            if (session != null) {
+                session.setHardMode(checked);
             }
+        });
 
-            int[] historyPointsBundle = savedInstanceState.getIntArray("historyPoints");
-            if (historyPointsBundle == null) {
-                historyPoints = new int[26];
-            } else {
-                historyPoints = historyPointsBundle;
-            }
+        // Retrieve saved state, e.g when rotation changes, applied in onDictionaryReady
+        if (savedInstanceState != null) {
+            savedSession = savedInstanceState.getIntArray("session");
+            savedCandidates = savedInstanceState.getLongArray("candidates");
+            savedCurrentWord = savedInstanceState.getString("currentWord");
+        }
 
-            activeWordleEditTextIndex = savedInstanceState.getInt("activeWordleEditTextIndex");
+        // Long press on the title toggles metrics and their overlay
+        metrics = ((WordGameApplication) getApplication()).getMetrics();
+        metricsOverlay = findViewById(R.id.metricsOverlay);
+        findViewById(R.id.heading).setOnLongClickListener(view -> {
+            setMetricsEnabled(!metrics.isEnabled());
+            return true;
+        });
 
-            gameOver = savedInstanceState.getBoolean("gameOver");
+        // Letters typed on the in-app keyboard go to the active row, no IME is needed
+        keyboardView = findViewById(R.id.keyboardView);
+        keyboardView.setOnKeyListener(new KeyboardView.OnKeyListener() {
+            @Override
+            public void onLetter(char letter) {
+                if (layoutPasses != null) {
+                    layoutPasses.mark("LETTER");
+                }
+                metrics.markKeyPressed();
+                gameBoard.typeLetter(letter);
+            }
 
-            String[] currentWordsBundle = savedInstanceState.getStringArray("currentWords");
-            if (currentWordsBundle != null) {
-                for (int i = 0; i < 6; i++) {
-                    wordleEditTexts[i].setText(currentWordsBundle[i]);
-                    if (i < activeWordleEditTextIndex) {
-                        wordleEditTexts[i].finalizeResult(randomWord);
-                    }
+            @Override
+            public void onDelete() {
+                if (layoutPasses != null) {
+                    layoutPasses.mark("DELETE");
                 }
+                metrics.markKeyPressed();
+                gameBoard.deleteLetter();
+            }
 
-                if (gameOver) {
-                    wordleEditTexts[activeWordleEditTextIndex].finalizeResult(randomWord);
-                    replayButton.setVisibility(View.VISIBLE);
+            @Override
+            public void onEnter() {
+                if (layoutPasses != null) {
+                    layoutPasses.mark("ENTER");
                 }
+                metrics.markKeyPressed();
+                gameBoard.submit();
             }
-        } else {
-            Random random = new Random();
-            randomWord = allWords.get(random.nextInt(allWords.size())).toUpperCase(Locale.UK);
-            historyPoints = new int[26];
+        });
+        remainingTextView = findViewById(R.id.remainingTextView);
+
+        replayButton.setOnClickListener(view -> {
+            gameBoard.clear();
+            startNewGame();
+            renderBoard();
+        });
+
+        // The in-app keyboard is the input, but an IME can still come up, e.g. for accessibility.
+        // The window isn't resized for it (adjustNothing), the content is padded by the IME inset
+        // instead, and only when that inset changes, so other inset dispatches cost no layout.
+        View content = findViewById(android.R.id.content);
+        ViewCompat.setOnApplyWindowInsetsListener(content, (view, insets) -> {
+            int inset = insets.getInsets(WindowInsetsCompat.Type.ime()).bottom;
+            if (inset != imeInset) {
+                imeInset = inset;
+                view.setPadding(view.getPaddingLeft(), view.getPaddingTop(), view.getPaddingRight(), inset);
+            }
+            return insets;
+        });
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            layoutPasses = LayoutPassCounter.attach(content);
         }
 
-        if (!gameOver) {
-            wordleEditTexts[activeWordleEditTextIndex].setEnabled(true);
+        // Loaded once per process, either delivered right away or as soon as loading finishes
+        ((WordGameApplication) getApplication()).whenDictionaryReady(this);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (metrics.isEnabled()) {
+            startMetrics();
         }
+    }
 
-        historyTextView = findViewById(R.id.historyTextView);
-        renderHistory(historyTextView);
+    @Override
+    protected void onPause() {
+        super.onPause();
+        if (metrics.isEnabled()) {
+            stopMetrics();
+        }
+    }
 
-        replayButton.setOnClickListener(view -> {
-            gameOver = false;
-            for (int i = 0; i < 6; i++) {
-                wordleEditTexts[i].setText("");
-                wordleEditTexts[i].reset();
-            }
+    private void setMetricsEnabled(boolean enabled) {
+        metrics.setEnabled(enabled);
+        if (enabled) {
+            metrics.reset();
+            startMetrics();
+        } else {
+            stopMetrics();
+        }
+    }
 
-            historyPoints = new int[26];
+    private void startMetrics() {
+        metrics.startFrameMetrics(getWindow());
+        metricsOverlay.setVisibility(View.VISIBLE);
+        metricsOverlay.removeCallbacks(updateMetricsOverlay);
+        updateMetricsOverlay.run();
+    }
 
-            renderHistory(historyTextView);
-            activeWordleEditTextIndex = 0;
-            wordleEditTexts[activeWordleEditTextIndex].setEnabled(true);
-            replayButton.setVisibility(View.INVISIBLE);
-            Random random = new Random();
-            randomWord = allWords.get(random.nextInt(allWords.size())).toUpperCase(Locale.UK);
-        });
+    // Collected numbers go to logcat and to metrics.txt in the app's external files directory
+    private void stopMetrics() {
+        metrics.stopFrameMetrics(getWindow());
+        metricsOverlay.removeCallbacks(updateMetricsOverlay);
+        metricsOverlay.setVisibility(View.GONE);
+        metrics.log();
+        File directory = getExternalFilesDir(null);
+        if (directory != null) {
+            File file = new File(directory, "metrics.txt");
+            ((WordGameApplication) getApplication()).getBackgroundExecutor().execute(() -> metrics.dump(file));
+        }
+    }
 
-        // Get the root view
-        // Listen for layout changes to detect keyboard visibility
-        View rootView = getWindow().getDecorView().getRootView();
-        rootView.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
-            @Override
-            public void onGlobalLayout() {
-                Rect visibleFrame = new Rect();
-                rootView.getWindowVisibleDisplayFrame(visibleFrame);
-                int rootViewHeight = rootView.getHeight();
-                int visibleHeight = visibleFrame.height();
-
-                int orientation = getResources().getConfiguration().orientation;
-
-                ConstraintLayout.LayoutParams layoutParams = (ConstraintLayout.LayoutParams) mainContainer.getLayoutParams();
-                if ((rootViewHeight - visibleHeight) > (rootViewHeight * 0.15)) { // Keyboard is visible
-                    // If all content is visible don't apply height change
-                    Rect bottomViewRect = new Rect();
-                    layoutParams.height = visibleHeight;
-                    if (orientation == Configuration.ORIENTATION_PORTRAIT) {
-                        mainContainer.getGlobalVisibleRect(bottomViewRect);
-                        // if mainContainer not completely visible adjust height:
-                        // @NOTE: There is some slight coordinate miscalculation
-                        if (bottomViewRect.bottom > visibleHeight) {
-                            mainContainer.setLayoutParams(layoutParams);
-                        }
-                    } else { // Landscape
-                        mainContainer.setLayoutParams(layoutParams);
-                    }
-                } else {
-                    layoutParams.height = mainContentDefaultHeight; // reset it to defaults
-                    mainContainer.setLayoutParams(layoutParams);
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        ((WordGameApplication) getApplication()).removeDictionaryListener(this);
+        ((WordGameApplication) getApplication()).removeFeedbackTableListener(this);
+    }
+
+    // Input stays disabled until the dictionary and the saved game have been loaded in background
+    @Override
+    public void onDictionaryReady(@NonNull WordDictionary dictionary) {
+        this.dictionary = dictionary;
+        GameSession loaded = new GameSession(dictionary, ((WordGameApplication) getApplication()).getCandidateIndex(),
+                gameBoard.getRows());
+        scheduler = new WordScheduler(dictionary.size(), endlessSeed());
+        // A recreated activity (e.g. rotation) has the game in its Bundle, otherwise it's read from storage
+        if (loaded.restoreState(savedSession, savedCandidates)) {
+            showGame(loaded, true);
+        } else {
+            gameStateStore.restore(loaded, restored -> {
+                if (!isDestroyed()) {
+                    showGame(loaded, restored);
                 }
-            }
-        });
+            });
+        }
     }
 
-    // Submit word
-    private void submitWord() {
-        String activeWord = wordleEditTexts[activeWordleEditTextIndex].getText().toString();
+    private void showGame(GameSession loaded, boolean restored) {
+        session = loaded;
+        session.setHardMode(hardModeCheckBox.isChecked());
+        if (restored) {
+            // Finished rows show their saved feedback, nothing is scored again
+            for (int row = 0; row < session.getRowCount(); row++) {
+                gameBoard.setRowResult(row, session.getGuessCode(row), session.getFeedback(row));
+            }
+        } else {
+            // Nothing saved (or saved for another word list)
+            startNewGame();
+        }
+        renderBoard();
+        if (!session.isOver() && savedCurrentWord != null) {
+            gameBoard.setTypedWord(savedCurrentWord);
+        }
+        savedSession = null;
+        savedCandidates = null;
+        savedCurrentWord = null;
+    }
 
-        if (activeWord.equals(randomWord)) {
-            addToHistory(activeWord);
-            gameOver(true);
-        } else if (!validWord(activeWord)) {
-            Toast.makeText(getApplicationContext(), "INVALID WORD!", Toast.LENGTH_SHORT).show();
+    // The first game of a local day is the daily word, every other game continues the endless run
+    private void startNewGame() {
+        long today = localEpochDay();
+        int index;
+        if (preferences.getLong(PREF_DAILY_DAY, Long.MIN_VALUE) != today) {
+            index = scheduler.dailyIndex(today);
+            preferences.edit().putLong(PREF_DAILY_DAY, today).apply();
         } else {
-            if (activeWordleEditTextIndex == 5) {
-                addToHistory(activeWord);
-                gameOver(false);
-            } else {
-                wordleEditTexts[activeWordleEditTextIndex].finalizeResult(randomWord);
-                activeWordleEditTextIndex++;
-                wordleEditTexts[activeWordleEditTextIndex].setEnabled(true);
-                addToHistory(activeWord);
+            long position = preferences.getLong(PREF_ENDLESS_POSITION, 0);
+            int daily = scheduler.dailyIndex(today);
+            index = scheduler.endlessIndex(position++);
+            // Don't replay today's daily word, unless the list has no other
+            while (index == daily && dictionary.size() > 1) {
+                index = scheduler.endlessIndex(position++);
             }
+            preferences.edit().putLong(PREF_ENDLESS_POSITION, position).apply();
         }
+        session.start(dictionary.codeAt(index));
+        gameStateStore.saveGame(session);
     }
 
-    // Add to history with points related to "contain"
-    private void addToHistory(String activeWord) {
-        for (int i = 0; i < 5; i++) {
-            int charIndex = ArrayUtils.indexOf(englishChars, activeWord.charAt(i));
-            if (activeWord.charAt(i) == randomWord.charAt(i)) {
-                historyPoints[charIndex] = 3;
-            } else if (randomWord.contains(String.valueOf(activeWord.charAt(i)))) {
-                if (historyPoints[charIndex] != 3) {
-                    historyPoints[charIndex] = 2;
-                }
-            } else {
-                historyPoints[charIndex] = 1;
-            }
+    // Drawn once per install, so endless runs differ between players
+    private long endlessSeed() {
+        if (!preferences.contains(PREF_ENDLESS_SEED)) {
+            preferences.edit().putLong(PREF_ENDLESS_SEED, new Random().nextLong()).apply();
         }
-        renderHistory(historyTextView);
+        return preferences.getLong(PREF_ENDLESS_SEED, 0);
     }
 
-    // Render letter history
-    private void renderHistory(TextView historyTextView) {
-        Spannable historySpannable = new SpannableString("A B C D E F G H I J K L M N O P Q R S T U V W X Y Z");
-        int spanStartIndex = 0;
-        for (int i = 0; i < 26; i++) {
-            int color = 0xd9d9d9;
-            if (historyPoints[i] == 1) {
-                color = 0xFF808080;
-            } else if (historyPoints[i] == 2) {
-                color = 0xFF706e01;
-            } else if (historyPoints[i] == 3) {
-                color = 0xFF105422;
-            }
-            historySpannable.setSpan(new BackgroundColorSpan(color), spanStartIndex,
-                    spanStartIndex + 1, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
-            spanStartIndex += 2;
+    private static long localEpochDay() {
+        long now = System.currentTimeMillis();
+        return Math.floorDiv(now + TimeZone.getDefault().getOffset(now), DateUtils.DAY_IN_MILLIS);
+    }
+
+    // Feedback table is built (or read from cache) on the first hint only
+    private void requestHint() {
+        if (session == null || session.isOver()) {
+            return;
+        }
+        hintButton.setEnabled(false);
+        ((WordGameApplication) getApplication()).whenFeedbackTableReady(this);
+    }
+
+    @Override
+    public void onFeedbackTableReady(@NonNull FeedbackTable feedbackTable) {
+        // Solve on a snapshot so rows submitted meanwhile can't change it
+        CandidateSet snapshot = session.getCandidates().copy();
+        // Hints stay legal in hard mode, the remaining answers always use every hint
+        boolean hardMode = session.isHardMode();
+        WordDictionary solverDictionary = dictionary;
+        ((WordGameApplication) getApplication()).getBackgroundExecutor().execute(() -> {
+            EntropySolver.Result result = new EntropySolver(solverDictionary, feedbackTable)
+                    .solve(snapshot, hardMode, HINT_BUDGET_NANOS);
+            runOnUiThread(() -> showHint(result));
+        });
+    }
+
+    private void showHint(EntropySolver.Result result) {
+        if (isDestroyed()) {
+            return;
+        }
+        hintButton.setEnabled(true);
+        if (result.guessIndex >= 0 && !session.isOver()) {
+            Toast.makeText(getApplicationContext(),
+                    getString(R.string.hint_result, dictionary.wordAt(result.guessIndex)), Toast.LENGTH_SHORT).show();
         }
+    }
 
-        historyTextView.setText(historySpannable, TextView.BufferType.SPANNABLE);
+    // Submit word, traced for the macrobenchmarks
+    private void submitWord(String word) {
+        Trace.beginSection("submitWord");
+        try {
+            scoreWord(word);
+        } finally {
+            Trace.endSection();
+        }
     }
 
-    // Switch buttons when game is over
-    private void gameOver(boolean won) {
-        gameOver = true;
-        if (won) {
+    private void scoreWord(String word) {
+        if (session == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        GameSession.SubmitResult result = session.submit(word);
+        if (result == GameSession.SubmitResult.INVALID_WORD) {
+            // Shaken instead of a Toast, screen readers still get told
+            gameBoard.shakeActiveRow();
+            gameBoard.announceForAccessibility(getString(R.string.invalid_word));
+            return;
+        }
+        if (result == GameSession.SubmitResult.MISSES_HINT) {
+            gameBoard.shakeActiveRow();
+            Toast.makeText(getApplicationContext(), R.string.misses_hint, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (result == GameSession.SubmitResult.GAME_OVER) {
+            return;
+        }
+
+        gameStateStore.saveLastRow(session);
+        int row = session.getRowCount() - 1;
+        gameBoard.setRowResult(row, session.getGuessCode(row), session.getFeedback(row), true);
+        if (session.isOver()) {
+            ((WordGameApplication) getApplication()).getStatsRecorder().record(session);
+        }
+        if (result == GameSession.SubmitResult.WON) {
             Toast.makeText(getApplicationContext(), "YOU WON!", Toast.LENGTH_LONG).show();
-            wordleEditTexts[activeWordleEditTextIndex].finalizeResult(randomWord);
-        } else {
-            Toast.makeText(getApplicationContext(), "YOU LOST! The word was: " + randomWord, Toast.LENGTH_LONG).show();
-            wordleEditTexts[activeWordleEditTextIndex].finalizeResult(randomWord);
+        } else if (result == GameSession.SubmitResult.LOST) {
+            Toast.makeText(getApplicationContext(), "YOU LOST! The word was: "
+                    + WordCodec.unpack(session.getAnswerCode()), Toast.LENGTH_LONG).show();
         }
-        replayButton.setVisibility(View.VISIBLE);
+        renderBoard();
+        metrics.recordSubmit(start);
     }
 
-    // Check word exists in list
-    private boolean validWord(String word) {
-        for (String w : allWords) {
-            if (w.toUpperCase(Locale.UK).equals(word)) {
-                return true;
+    // Aggregates are kept up to date as games are recorded, nothing is counted here
+    private void showStats() {
+        PlayerStats stats = ((WordGameApplication) getApplication()).getStatsRecorder().getStats();
+        if (stats == null) {
+            return;
+        }
+        StringBuilder text = new StringBuilder(getString(R.string.stats_summary, stats.getPlayed(),
+                Math.round(100 * stats.getWinRate()), stats.getCurrentStreak(), stats.getMaxStreak()));
+        text.append('\n');
+        for (int rows = 1; rows <= stats.getMaxRows(); rows++) {
+            text.append('\n').append(getString(R.string.stats_solved_in, rows, stats.getSolvedIn(rows)));
+        }
+        text.append('\n').append(getString(R.string.stats_failed, stats.getLost()));
+        if (session != null && session.isOver()) {
+            PlayerStats.WordHistory history = stats.getHistory(session.getAnswerCode());
+            if (history != null) {
+                text.append("\n\n").append(getString(R.string.stats_word,
+                        WordCodec.unpack(session.getAnswerCode()), history.getPlayed(), history.getWon()));
             }
         }
-        return false;
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.stats)
+                .setMessage(text)
+                .setPositiveButton(android.R.string.ok, null)
+                .show();
     }
 
-    // Get all words as list from file(R.raw.word_list)
-    private void readWordList() {
-        allWords = new ArrayList<>();
-        try {
-            InputStream inputStream = getApplication().getResources().openRawResource(R.raw.word_list);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-            String line = reader.readLine();
-            while (line != null) {
-                allWords.add(line);
-                line = reader.readLine();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Multi-board games run in their own activity, this one keeps its game
+    private void chooseBoards() {
+        int[] counts = {2, 4, 8};
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.boards)
+                .setItems(R.array.board_counts, (dialog, which) -> startActivity(
+                        new Intent(this, MultiBoardActivity.class)
+                                .putExtra(MultiBoardActivity.EXTRA_BOARDS, counts[which])))
+                .show();
+    }
+
+    // Input row, keyboard, remaining count and replay button from the session
+    private void renderBoard() {
+        gameBoard.setActiveRow(session.isOver() ? -1 : session.getRowCount());
+        replayButton.setVisibility(session.isOver() ? View.VISIBLE : View.INVISIBLE);
+        // Like the original game, hard mode can only be switched between games
+        hardModeCheckBox.setEnabled(session.getRowCount() == 0 || session.isOver());
+        renderKeyboard();
+        renderRemaining();
+    }
+
+    // Keyboard only redraws the keys whose state changed
+    private void renderKeyboard() {
+        for (int letter = 0; letter < 26; letter++) {
+            keyboardView.setKeyState(letter, session.getKeyState(letter));
+        }
+    }
+
+    // Number of possible answers, hidden before the first guess
+    private void renderRemaining() {
+        if (session.getRowCount() == 0) {
+            remainingTextView.setText("");
+        } else {
+            remainingTextView.setText(getString(R.string.words_remaining, session.getCandidates().size()));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.waquwex.wordgame.Metrics;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in performance metrics of the app, kept for the lifetime of the process.
+ * Dictionary load time is always recorded (once per process), everything else only while
+ * enabled: keystroke to frame latency and dropped frames come from FrameMetrics of the
+ * activity window, delivered on a background thread, submit latency from MainActivity.
+ */
+public final class Metrics {
+    private static final String TAG = "METRICS";
+
+    public final LatencyHistogram dictionaryLoad = new LatencyHistogram("dictionary");
+    public final LatencyHistogram keyToFrame = new LatencyHistogram("key>frame");
+    public final LatencyHistogram submit = new LatencyHistogram("submit");
+    public final LatencyHistogram frame = new LatencyHistogram("frame");
+    private final AtomicLong droppedFrames = new AtomicLong();
+    // System.nanoTime() of the oldest key press not painted yet, 0 when none
+    private final AtomicLong pendingKeyNanos = new AtomicLong();
+    private volatile boolean enabled = false;
+    // Frames slower than one refresh interval of the display are counted as dropped
+    private volatile long frameBudgetNanos = 16_666_667L;
+    private HandlerThread frameThread;
+    private Window.OnFrameMetricsAvailableListener frameListener;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    // Called on key press, the latency ends when the first frame drawn after it is on screen
+    public void markKeyPressed() {
+        if (enabled) {
+            // Keeps the older press when several land in the same frame
+            pendingKeyNanos.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    public void recordSubmit(long startNanos) {
+        if (enabled) {
+            submit.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    // Starts receiving the frame timings of window, until stopFrameMetrics
+    public void startFrameMetrics(@NonNull Window window) {
+        if (frameListener != null) {
+            return;
+        }
+        if (frameThread == null) {
+            frameThread = new HandlerThread("FrameMetrics");
+            frameThread.start();
+        }
+        float refreshRate = displayOf(window).getRefreshRate();
+        if (refreshRate > 0) {
+            frameBudgetNanos = (long) (1e9 / refreshRate);
+        }
+        frameListener = (w, frameMetrics, dropCount) -> onFrame(frameMetrics);
+        window.addOnFrameMetricsAvailableListener(frameListener, new Handler(frameThread.getLooper()));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Display displayOf(Window window) {
+        // The window's context is its activity, which is on a display
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            return window.getContext().getDisplay();
+        }
+        return window.getWindowManager().getDefaultDisplay();
+    }
+
+    public void stopFrameMetrics(@NonNull Window window) {
+        if (frameListener != null) {
+            window.removeOnFrameMetricsAvailableListener(frameListener);
+            frameListener = null;
+        }
+    }
+
+    // On the frame metrics thread
+    private void onFrame(FrameMetrics frameMetrics) {
+        if (!enabled) {
+            return;
+        }
+        long total = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        frame.record(total);
+        if (total > frameBudgetNanos) {
+            droppedFrames.incrementAndGet();
+        }
+
+        // Frame start is only known from API 26, it has to be after the key press to show it
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            long pending = pendingKeyNanos.get();
+            long vsync = frameMetrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP);
+            if (pending != 0 && vsync >= pending && pendingKeyNanos.compareAndSet(pending, 0)) {
+                keyToFrame.record(vsync + total - pending);
+            }
+        }
+    }
+
+    public void reset() {
+        keyToFrame.reset();
+        submit.reset();
+        frame.reset();
+        droppedFrames.set(0);
+        pendingKeyNanos.set(0);
+    }
+
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        for (LatencyHistogram histogram : new LatencyHistogram[]{dictionaryLoad, keyToFrame, submit, frame}) {
+            text.append(histogram.summary()).append('\n');
+        }
+        text.append(String.format(Locale.ROOT, "dropped    %d of %d frames", droppedFrames.get(), frame.getCount()));
+        return text.toString();
+    }
+
+    public void log() {
+        for (String line : summary().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    // Appends a timestamped summary to file, e.g. to pull it from a test device
+    public void dump(@NonNull File file) {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+            out.write("# " + System.currentTimeMillis() + "\n");
+            out.write(summary());
+            out.write("\n");
+        } catch (IOException e) {
+            Log.w(TAG, "Couldn't write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.waquwex.wordgame;
+
+import android.os.Bundle;
+import android.os.Trace;
+import android.view.View;
+import android.widget.Button;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Game.IndexPermutation;
+import com.waquwex.wordgame.Game.MultiBoardSession;
+import com.waquwex.wordgame.Views.KeyboardView;
+import com.waquwex.wordgame.Views.MultiBoardView;
+
+// Multi-board mode: one guess is played on 2, 4 or 8 boards at once (MultiBoardSession).
+// Games are kept across rotation only, they aren't saved to storage or counted in the stats.
+public class MultiBoardActivity extends AppCompatActivity implements WordGameApplication.DictionaryListener {
+    public static final String EXTRA_BOARDS = "boards";
+    private static final int DEFAULT_BOARDS = 4;
+
+    private int boards;
+    private WordDictionary dictionary;
+    // Created once the dictionary is ready
+    private MultiBoardSession session;
+    MultiBoardView boardView;
+    KeyboardView keyboardView;
+    Button replayButton;
+    // Restored in onDictionaryReady
+    private int[] savedSession;
+    private String savedCurrentWord;
+
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (session == null) {
+            outState.putIntArray("session", savedSession);
+            outState.putString("currentWord", savedCurrentWord);
+            return;
+        }
+        outState.putIntArray("session", session.saveState());
+        outState.putString("currentWord", boardView.getTypedWord());
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_multi_board);
+
+        boards = getIntent().getIntExtra(EXTRA_BOARDS, DEFAULT_BOARDS);
+        if (savedInstanceState != null) {
+            savedSession = savedInstanceState.getIntArray("session");
+            savedCurrentWord = savedInstanceState.getString("currentWord");
+        }
+
+        boardView = findViewById(R.id.multiBoard);
+        boardView.setGame(boards, MultiBoardSession.defaultMaxRows(boards));
+        replayButton = findViewById(R.id.replayButton);
+        replayButton.setOnClickListener(view -> {
+            startNewGame();
+            renderBoards();
+        });
+        keyboardView = findViewById(R.id.keyboardView);
+        keyboardView.setOnKeyListener(new KeyboardView.OnKeyListener() {
+            @Override
+            public void onLetter(char letter) {
+                boardView.typeLetter(letter);
+            }
+
+            @Override
+            public void onDelete() {
+                boardView.deleteLetter();
+            }
+
+            @Override
+            public void onEnter() {
+                String word = boardView.getTypedWord();
+                if (word.length() == WordCodec.WORD_LENGTH) {
+                    submitWord(word);
+                }
+            }
+        });
+
+        ((WordGameApplication) getApplication()).whenDictionaryReady(this);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        ((WordGameApplication) getApplication()).removeDictionaryListener(this);
+    }
+
+    @Override
+    public void onDictionaryReady(@NonNull WordDictionary dictionary) {
+        this.dictionary = dictionary;
+        session = new MultiBoardSession(dictionary, boards, MultiBoardSession.defaultMaxRows(boards));
+        if (session.restoreState(savedSession)) {
+            for (int board = 0; board < boards; board++) {
+                int lastRow = session.isSolved(board) ? session.getSolvedRow(board) : session.getRowCount() - 1;
+                for (int row = 0; row <= lastRow; row++) {
+                    boardView.setRowResult(board, row, session.getGuessCode(row), session.getFeedback(board, row));
+                }
+                if (session.isSolved(board)) {
+                    boardView.setSolved(board);
+                }
+            }
+        } else {
+            startNewGame();
+        }
+        renderBoards();
+        if (!session.isOver() && savedCurrentWord != null) {
+            boardView.setTypedWord(savedCurrentWord);
+        }
+        savedSession = null;
+        savedCurrentWord = null;
+    }
+
+    // Different answers on every board: the first entries of a freshly seeded permutation
+    private void startNewGame() {
+        IndexPermutation permutation = new IndexPermutation(dictionary.size(), System.nanoTime());
+        int[] answers = new int[boards];
+        for (int board = 0; board < boards; board++) {
+            answers[board] = dictionary.codeAt(permutation.apply(board % dictionary.size()));
+        }
+        session.start(answers);
+        boardView.clear();
+    }
+
+    // Traced like MainActivity.submitWord, to check the frame budget with 8 boards
+    private void submitWord(String word) {
+        Trace.beginSection("submitMultiBoard");
+        try {
+            scoreWord(word);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void scoreWord(String word) {
+        if (session == null) {
+            return;
+        }
+        GameSession.SubmitResult result = session.submit(word);
+        if (result == GameSession.SubmitResult.INVALID_WORD) {
+            Toast.makeText(getApplicationContext(), R.string.invalid_word, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (result == GameSession.SubmitResult.GAME_OVER) {
+            return;
+        }
+
+        // Only the boards this guess was scored on change
+        int row = session.getRowCount() - 1;
+        int guessCode = session.getGuessCode(row);
+        for (int i = 0; i < session.getScoredBoardCount(); i++) {
+            int board = session.getScoredBoard(i);
+            boardView.setRowResult(board, row, guessCode, session.getFeedback(board, row));
+            if (session.isSolved(board)) {
+                boardView.setSolved(board);
+            }
+        }
+        if (result == GameSession.SubmitResult.WON) {
+            Toast.makeText(getApplicationContext(), "YOU WON!", Toast.LENGTH_LONG).show();
+        } else if (result == GameSession.SubmitResult.LOST) {
+            StringBuilder missed = new StringBuilder();
+            for (int board = 0; board < boards; board++) {
+                if (!session.isSolved(board)) {
+                    missed.append(missed.length() == 0 ? "" : ", ").append(WordCodec.unpack(session.getAnswerCode(board)));
+                }
+            }
+            Toast.makeText(getApplicationContext(), "YOU LOST! The words were: " + missed, Toast.LENGTH_LONG).show();
+        }
+        renderBoards();
+    }
+
+    private void renderBoards() {
+        boardView.setActiveRow(session.isOver() ? -1 : session.getRowCount());
+        replayButton.setVisibility(session.isOver() ? View.VISIBLE : View.INVISIBLE);
+        for (int letter = 0; letter < 26; letter++) {
+            keyboardView.setKeyState(letter, session.getKeyState(letter));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.waquwex.wordgame.Stats;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.waquwex.wordgame.Game.GameSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+// Records finished games off the UI thread. Results wait in a pending list until the background
+// executor gets to them, so games finished in quick succession (e.g. rapid replay) are written
+// with one append. Readers get an immutable copy of the aggregates, published after every batch.
+public class StatsRecorder {
+    private static final String TAG = "STATS";
+
+    private final StatsStore store;
+    private final Executor executor;
+    private final Object lock = new Object();
+    // Guarded by lock
+    private final ArrayList<GameResult> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+    // Only touched on the executor
+    private PlayerStats stats;
+    private volatile PlayerStats published;
+
+    /**
+     * @param executor Single threaded, the store has one writer
+     */
+    public StatsRecorder(@NonNull StatsStore store, @NonNull Executor executor, int maxRows) {
+        this.store = store;
+        this.executor = executor;
+        executor.execute(() -> {
+            try {
+                stats = store.load();
+            } catch (IOException e) {
+                Log.w(TAG, "Couldn't load stats, starting over", e);
+                stats = new PlayerStats(maxRows);
+            }
+            published = stats.copy();
+        });
+    }
+
+    // Queues the result of a session that just ended
+    public void record(@NonNull GameSession session) {
+        GameResult result = GameResult.of(session, System.currentTimeMillis());
+        synchronized (lock) {
+            pending.add(result);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        executor.execute(this::flush);
+    }
+
+    // Aggregates of every recorded game, null until they have been loaded
+    @Nullable
+    public PlayerStats getStats() {
+        return published;
+    }
+
+    private void flush() {
+        ArrayList<GameResult> batch;
+        synchronized (lock) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        try {
+            store.append(batch, stats);
+        } catch (IOException e) {
+            // Still counted for this process
+            Log.w(TAG, "Couldn't log " + batch.size() + " games", e);
+        }
+        published = stats.copy();
+    }
+}
@@ -1,12 +0,0 @@
-package com.waquwex.wordgame.Utils;
-
-public class ArrayUtils {
-    public static int indexOf(char[] array, char target) {
-        for (int i = 0; i < array.length; i++) {
-            if (array[i] == target) {
-                return i;
-            }
-        }
-        return -1;
-    }
-}
\ No newline at end of file
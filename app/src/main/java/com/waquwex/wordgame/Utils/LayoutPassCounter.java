@@ -0,0 +1,42 @@
+package com.waquwex.wordgame.Utils;
+
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Counts the layout passes of a view tree, to see how many passes an input event causes.
+ * Only attached in debuggable builds, a pass costs one increment.
+ */
+public class LayoutPassCounter implements ViewTreeObserver.OnGlobalLayoutListener {
+    private static final String TAG = "LAYOUT";
+
+    private int passes = 0;
+
+    public static LayoutPassCounter attach(View root) {
+        LayoutPassCounter counter = new LayoutPassCounter();
+        root.getViewTreeObserver().addOnGlobalLayoutListener(counter);
+        return counter;
+    }
+
+    @Override
+    public void onGlobalLayout() {
+        passes++;
+    }
+
+    // Passes since the previous call
+    public int takeCount() {
+        int count = passes;
+        passes = 0;
+        return count;
+    }
+
+    /**
+     * Logs the passes caused by the previous event and starts counting for this one.
+     *
+     * @param event Name of the event, e.g. the key that was pressed
+     */
+    public void mark(String event) {
+        Log.d(TAG, takeCount() + " layout passes since the previous event, now " + event);
+    }
+}
@@ -0,0 +1,175 @@
+package com.waquwex.wordgame.Views;
+
+import android.view.Choreographer;
+
+import java.util.Arrays;
+
+// Clock for GameBoardView's tile effects: one Choreographer frame callback advances every running
+// effect, however many there are. Effect state lives in arrays allocated with the board, so a
+// frame allocates nothing, and the callback isn't posted again once no effect is left.
+//
+// Pop:   a typed letter grows and settles, its border turns from white to green.
+// Flip:  the tiles of a scored row turn one after another and show their color from half way.
+// Shake: a row swings side to side with a decaying amplitude, e.g. for a word not in the list.
+final class BoardAnimator implements Choreographer.FrameCallback {
+    static final long POP_NANOS = 150_000_000L;
+    static final long FLIP_NANOS = 300_000_000L;
+    // Delay between the flips of neighbouring tiles
+    static final long FLIP_STAGGER_NANOS = 100_000_000L;
+    static final long SHAKE_NANOS = 400_000_000L;
+    private static final float POP_GROWTH = 0.12f;
+    private static final int SHAKE_SWINGS = 3;
+    // Start times: not running, starting on the next frame
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final long NEXT_FRAME = Long.MIN_VALUE;
+
+    private final GameBoardView board;
+    private final int columns;
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final long[] popStart;
+    private final long[] flipStart;
+    private final long[] shakeStart;
+    // 0 to 1 as of the last frame, 1 when not running
+    private final float[] popProgress;
+    private final float[] flipProgress;
+    private final float[] shakeProgress;
+    private boolean posted = false;
+
+    BoardAnimator(GameBoardView board, int rows, int columns) {
+        this.board = board;
+        this.columns = columns;
+        popStart = new long[rows * columns];
+        flipStart = new long[rows * columns];
+        shakeStart = new long[rows];
+        popProgress = new float[rows * columns];
+        flipProgress = new float[rows * columns];
+        shakeProgress = new float[rows];
+        cancel();
+    }
+
+    // Restarts if the tile is still popping
+    void pop(int row, int column) {
+        int tile = row * columns + column;
+        popStart[tile] = NEXT_FRAME;
+        popProgress[tile] = 0;
+        post();
+    }
+
+    void flipRow(int row) {
+        for (int tile = row * columns; tile < (row + 1) * columns; tile++) {
+            flipStart[tile] = NEXT_FRAME;
+            flipProgress[tile] = 0;
+        }
+        post();
+    }
+
+    void shakeRow(int row) {
+        shakeStart[row] = NEXT_FRAME;
+        shakeProgress[row] = 0;
+        post();
+    }
+
+    // Jumps every effect to its end
+    void cancel() {
+        Arrays.fill(popStart, IDLE);
+        Arrays.fill(flipStart, IDLE);
+        Arrays.fill(shakeStart, IDLE);
+        Arrays.fill(popProgress, 1);
+        Arrays.fill(flipProgress, 1);
+        Arrays.fill(shakeProgress, 1);
+        if (posted) {
+            choreographer.removeFrameCallback(this);
+            posted = false;
+        }
+    }
+
+    boolean isRunning() {
+        return posted;
+    }
+
+    // Scale of the tile, 1 when it isn't popping
+    float popScale(int tile) {
+        float progress = popProgress[tile];
+        return progress >= 1 ? 1 : 1 + POP_GROWTH * (float) Math.sin(Math.PI * progress);
+    }
+
+    // 0 to 1, how far the active border has turned green
+    float popProgress(int tile) {
+        return popProgress[tile];
+    }
+
+    // Vertical scale of the tile, going down to 0 half way through the flip and back up
+    float flipScale(int tile) {
+        return Math.abs(1 - 2 * flipProgress[tile]);
+    }
+
+    // False in the first half of the flip, while the tile still shows its back
+    boolean isRevealed(int tile) {
+        return flipProgress[tile] >= 0.5f;
+    }
+
+    // -1 to 1, times the shake amplitude
+    float shakeOffset(int row) {
+        float progress = shakeProgress[row];
+        return progress >= 1 ? 0 : (float) Math.sin(2 * Math.PI * SHAKE_SWINGS * progress) * (1 - progress);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        posted = false;
+        if (advance(frameTimeNanos)) {
+            post();
+        }
+    }
+
+    /**
+     * Moves every effect to frameTimeNanos and invalidates the tiles they touch.
+     *
+     * @return Whether any effect is still running
+     */
+    boolean advance(long frameTimeNanos) {
+        boolean running = false;
+        for (int tile = 0; tile < popStart.length; tile++) {
+            int row = tile / columns;
+            int column = tile % columns;
+            if (popStart[tile] != IDLE) {
+                popProgress[tile] = progress(popStart, tile, frameTimeNanos, 0, POP_NANOS);
+                running |= popStart[tile] != IDLE;
+                board.invalidateTile(row, column);
+            }
+            if (flipStart[tile] != IDLE) {
+                flipProgress[tile] = progress(flipStart, tile, frameTimeNanos, column * FLIP_STAGGER_NANOS, FLIP_NANOS);
+                running |= flipStart[tile] != IDLE;
+                board.invalidateTile(row, column);
+            }
+        }
+        for (int row = 0; row < shakeStart.length; row++) {
+            if (shakeStart[row] != IDLE) {
+                shakeProgress[row] = progress(shakeStart, row, frameTimeNanos, 0, SHAKE_NANOS);
+                running |= shakeStart[row] != IDLE;
+                board.invalidateRow(row);
+            }
+        }
+        return running;
+    }
+
+    // Progress of starts[index] at time, marks it idle once it is done
+    private static float progress(long[] starts, int index, long time, long delay, long duration) {
+        if (starts[index] == NEXT_FRAME) {
+            starts[index] = time;
+        }
+        long elapsed = time - starts[index] - delay;
+        if (elapsed >= duration) {
+            starts[index] = IDLE;
+            return 1;
+        }
+        return elapsed <= 0 ? 0 : (float) elapsed / duration;
+    }
+
+    private void post() {
+        if (!posted) {
+            posted = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+}
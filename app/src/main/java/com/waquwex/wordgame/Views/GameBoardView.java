@@ -0,0 +1,598 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.text.InputType;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.inputmethod.BaseInputConnection;
+import android.view.inputmethod.EditorInfo;
+import android.view.inputmethod.InputConnection;
+import android.view.inputmethod.InputMethodManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.res.ResourcesCompat;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Utils.PixelUtils;
+
+import java.util.Arrays;
+
+// Whole game board (rows x word length tiles) drawn by one view with one input connection.
+// Finished rows show the colors of their feedback, the active row takes typed letters.
+// Typing only invalidates the tiles that changed, tile effects run on one BoardAnimator.
+public class GameBoardView extends View {
+    public interface OnSubmitListener {
+        // Enter/Done was pressed with a full active row
+        void onSubmit(@NonNull String word);
+    }
+
+    private final int rows;
+    // Guesses are packed and scored as five letter words (WordCodec, GuessScorer)
+    private final int wordLength = WordCodec.WORD_LENGTH;
+    // Space around every tile
+    private final int tileSpacing;
+    private final int borderWidth = (int) PixelUtils.convertDpToPixel(2, getContext());
+    private final int shakeAmplitude = (int) PixelUtils.convertDpToPixel(8, getContext());
+    private final int imeOptions;
+    // Row major, 0 for empty tiles
+    private final char[] letters;
+    private final int[] tileColors;
+    // Row taking input, -1 when input is disabled
+    private int activeRow = -1;
+    private int typedCount = 0;
+    // Letters from composingStart to typedCount belong to the IME composition, -1 when not composing
+    private int composingStart = -1;
+    private final BoardAnimator animator;
+    private OnSubmitListener onSubmitListener;
+
+    private final Paint textPaint = new Paint();
+    private final Paint backgroundPaint = new Paint();
+    private final Paint borderBoxPaint = new Paint();
+    // Geometry, computed in onSizeChanged
+    private int cellSize;
+    private int boxSize;
+    private int boardLeft;
+    private int boardTop;
+    private float textOffsetX;
+    private float textBaselineOffset;
+
+    public GameBoardView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    // Creating it from XML layout files
+    public GameBoardView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    // Creating it from XML layout files with default style attribute
+    public GameBoardView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        // Get XML attributes
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.GameBoardView, defStyleAttr, 0);
+        Typeface typeface;
+        try {
+            rows = ta.getInt(R.styleable.GameBoardView_rows, 6);
+            tileSpacing = ta.getDimensionPixelSize(R.styleable.GameBoardView_tileSpacing,
+                    (int) PixelUtils.convertDpToPixel(2, context));
+            imeOptions = ta.getInt(R.styleable.GameBoardView_android_imeOptions, EditorInfo.IME_NULL);
+            int fontId = ta.getResourceId(R.styleable.GameBoardView_android_fontFamily, 0);
+            typeface = fontId != 0 ? ResourcesCompat.getFont(context, fontId) : null;
+        } finally {
+            ta.recycle();
+        }
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows must be positive");
+        }
+
+        letters = new char[rows * wordLength];
+        tileColors = new int[rows * wordLength];
+        Arrays.fill(tileColors, TilePalette.EMPTY_COLOR);
+
+        borderBoxPaint.setStyle(Paint.Style.FILL);
+        backgroundPaint.setStyle(Paint.Style.FILL);
+        textPaint.setSubpixelText(true);
+        textPaint.setAntiAlias(true);
+        textPaint.setColor(TilePalette.TEXT_COLOR);
+        textPaint.setTypeface(typeface);
+
+        animator = new BoardAnimator(this, rows, wordLength);
+
+        setFocusable(true);
+        setFocusableInTouchMode(true);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public void setOnSubmitListener(@Nullable OnSubmitListener listener) {
+        onSubmitListener = listener;
+    }
+
+    // Empties every tile and disables input
+    public void clear() {
+        Arrays.fill(letters, (char) 0);
+        Arrays.fill(tileColors, TilePalette.EMPTY_COLOR);
+        activeRow = -1;
+        typedCount = 0;
+        composingStart = -1;
+        animator.cancel();
+        restartInput();
+        invalidate();
+    }
+
+    // Shows a scored row right away, e.g. when restoring a game
+    public void setRowResult(int row, int guessCode, int feedback) {
+        setRowResult(row, guessCode, feedback, false);
+    }
+
+    /**
+     * Shows a scored row.
+     *
+     * @param guessCode Packed guess (WordCodec)
+     * @param feedback  GuessScorer feedback of the guess
+     * @param reveal    Flip the tiles over to their colors one by one
+     */
+    public void setRowResult(int row, int guessCode, int feedback, boolean reveal) {
+        for (int column = 0; column < wordLength; column++) {
+            int tile = row * wordLength + column;
+            letters[tile] = (char) ('A' + WordCodec.letterAt(guessCode, column));
+            tileColors[tile] = TilePalette.colorOf(GuessScorer.feedbackAt(feedback, column));
+        }
+        if (row == activeRow) {
+            typedCount = wordLength;
+        }
+        if (reveal) {
+            animator.flipRow(row);
+        }
+        invalidateRow(row);
+    }
+
+    // Shakes the active row, e.g. when its word isn't in the word list
+    public void shakeActiveRow() {
+        if (activeRow >= 0) {
+            animator.shakeRow(activeRow);
+        }
+    }
+
+    /**
+     * Moves input to row, keeping letters already typed there.
+     *
+     * @param row Row taking input, -1 to disable input
+     */
+    public void setActiveRow(int row) {
+        if (activeRow >= 0) {
+            invalidateRow(activeRow);
+        }
+        activeRow = row;
+        typedCount = 0;
+        composingStart = -1;
+        restartInput();
+        if (row >= 0) {
+            while (typedCount < wordLength && letters[row * wordLength + typedCount] != 0) {
+                typedCount++;
+            }
+            invalidateRow(row);
+        }
+    }
+
+    // Letters typed into the active row so far
+    @NonNull
+    public String getTypedWord() {
+        if (activeRow < 0) {
+            return "";
+        }
+        return new String(letters, activeRow * wordLength, typedCount);
+    }
+
+    // Replaces the letters of the active row, e.g. when restoring state
+    public void setTypedWord(@NonNull CharSequence word) {
+        if (activeRow < 0) {
+            return;
+        }
+        Arrays.fill(letters, activeRow * wordLength, (activeRow + 1) * wordLength, (char) 0);
+        typedCount = 0;
+        composingStart = -1;
+        for (int i = 0; i < word.length(); i++) {
+            appendLetter(word.charAt(i), false);
+        }
+        restartInput();
+        invalidateRow(activeRow);
+    }
+
+    // The IME's view of the row (text, composition) is stale after the row changed under it
+    private void restartInput() {
+        InputMethodManager inputMethodManager =
+                (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (inputMethodManager != null) {
+            inputMethodManager.restartInput(this);
+        }
+    }
+
+    // Types text into the active row with constant work per character, see appendLetter
+    private void appendLetters(CharSequence text) {
+        int before = typedCount;
+        for (int i = 0, length = text.length(); i < length && typedCount < wordLength; i++) {
+            appendLetter(text.charAt(i), false);
+        }
+        if (typedCount == before) {
+            return;
+        }
+        // Only the new tiles and the one losing its highlighted border
+        for (int column = Math.max(before - 1, 0); column < typedCount; column++) {
+            invalidateTile(activeRow, column);
+        }
+        animator.pop(activeRow, typedCount - 1);
+    }
+
+    // Removes letters down to count, without animation
+    private void truncateLetters(int count) {
+        while (typedCount > count) {
+            deleteLetter();
+        }
+    }
+
+    // Types a letter into the active row like a key press, e.g. from KeyboardView
+    public void typeLetter(char c) {
+        appendLetter(c, true);
+    }
+
+    // Adds a letter to the active row, anything that isn't an English letter is ignored
+    private void appendLetter(char c, boolean animate) {
+        if (activeRow < 0 || typedCount == wordLength) {
+            return;
+        }
+        int letter = WordCodec.letterIndex(c);
+        if (letter < 0) {
+            return;
+        }
+        letters[activeRow * wordLength + typedCount] = (char) ('A' + letter);
+        typedCount++;
+        if (animate) {
+            // Previous letter loses its highlighted border
+            if (typedCount > 1) {
+                invalidateTile(activeRow, typedCount - 2);
+            }
+            invalidateTile(activeRow, typedCount - 1);
+            animator.pop(activeRow, typedCount - 1);
+        }
+    }
+
+    // Removes the last letter of the active row
+    public void deleteLetter() {
+        if (activeRow < 0 || typedCount == 0) {
+            return;
+        }
+        typedCount--;
+        if (composingStart > typedCount) {
+            composingStart = typedCount;
+        }
+        letters[activeRow * wordLength + typedCount] = 0;
+        invalidateTile(activeRow, typedCount);
+        if (typedCount > 0) {
+            invalidateTile(activeRow, typedCount - 1);
+        }
+    }
+
+    // Reports the active row to the OnSubmitListener once it is full
+    public void submit() {
+        if (activeRow >= 0 && typedCount == wordLength && onSubmitListener != null) {
+            onSubmitListener.onSubmit(getTypedWord());
+        }
+    }
+
+    // Dirty rect invalidation, only tiles inside the clip are drawn again
+    @SuppressWarnings("deprecation")
+    void invalidateTile(int row, int column) {
+        int left = boardLeft + column * cellSize;
+        int top = boardTop + row * cellSize;
+        invalidate(left, top, left + cellSize, top + cellSize);
+    }
+
+    // Wide enough for a shaking row
+    @SuppressWarnings("deprecation")
+    void invalidateRow(int row) {
+        int top = boardTop + row * cellSize;
+        invalidate(boardLeft - shakeAmplitude, top, boardLeft + wordLength * cellSize + shakeAmplitude, top + cellSize);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        animator.cancel();
+    }
+
+    BoardAnimator getAnimator() {
+        return animator;
+    }
+
+    @Override
+    public boolean onCheckIsTextEditor() {
+        return true;
+    }
+
+    @Override
+    public InputConnection onCreateInputConnection(EditorInfo outAttrs) {
+        outAttrs.inputType = InputType.TYPE_CLASS_TEXT
+                | InputType.TYPE_TEXT_FLAG_CAP_CHARACTERS
+                | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS
+                | InputType.TYPE_TEXT_VARIATION_VISIBLE_PASSWORD;
+        // Submit action will be rely on this:
+        outAttrs.imeOptions = imeOptions | EditorInfo.IME_ACTION_DONE;
+        return new BoardInputConnection();
+    }
+
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        if (keyCode == KeyEvent.KEYCODE_DEL) {
+            deleteLetter();
+            return true;
+        }
+        if (keyCode == KeyEvent.KEYCODE_ENTER || keyCode == KeyEvent.KEYCODE_NUMPAD_ENTER) {
+            submit();
+            return true;
+        }
+        int unicodeChar = event.getUnicodeChar();
+        if (unicodeChar != 0 && activeRow >= 0) {
+            appendLetter((char) unicodeChar, true);
+            return true;
+        }
+        return super.onKeyDown(keyCode, event);
+    }
+
+    // Text the input connection couldn't send as single keys
+    @Override
+    public boolean onKeyMultiple(int keyCode, int repeatCount, KeyEvent event) {
+        if (keyCode == KeyEvent.KEYCODE_UNKNOWN && event.getCharacters() != null) {
+            appendLetters(event.getCharacters());
+            return true;
+        }
+        return super.onKeyMultiple(keyCode, repeatCount, event);
+    }
+
+    // Tapping the board takes focus for hardware keys, soft input comes from KeyboardView
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (event.getActionMasked() == MotionEvent.ACTION_UP) {
+            performClick();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        if (activeRow >= 0) {
+            requestFocus();
+        }
+        return true;
+    }
+
+    // Keeps the aspect ratio of the tiles: the unconstrained side follows the other one
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = MeasureSpec.getSize(heightMeasureSpec);
+
+        if (heightMode != MeasureSpec.EXACTLY && widthMode != MeasureSpec.UNSPECIFIED) {
+            int fit = width * rows / wordLength;
+            height = heightMode == MeasureSpec.UNSPECIFIED ? fit : Math.min(fit, height);
+        } else if (widthMode != MeasureSpec.EXACTLY && heightMode != MeasureSpec.UNSPECIFIED) {
+            int fit = height * wordLength / rows;
+            width = widthMode == MeasureSpec.UNSPECIFIED ? fit : Math.min(fit, width);
+        } else if (widthMode == MeasureSpec.UNSPECIFIED && heightMode == MeasureSpec.UNSPECIFIED) {
+            width = 0;
+            height = 0;
+        }
+        setMeasuredDimension(width, height);
+    }
+
+    // Tile geometry and text size only depend on the view size
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        // center board with respecting aspect ratio
+        cellSize = Math.min(w / wordLength, h / rows);
+        boxSize = cellSize - 2 * tileSpacing;
+        boardLeft = (w - cellSize * wordLength) / 2;
+        boardTop = (h - cellSize * rows) / 2;
+
+        textPaint.setTextSize(boxSize);
+        textOffsetX = TilePalette.textOffsetX(tileSpacing, borderWidth, boxSize);
+        textBaselineOffset = TilePalette.textBaselineOffset(tileSpacing, borderWidth, boxSize);
+    }
+
+    // Allocation free, tiles outside the invalidated area are skipped
+    @SuppressWarnings("deprecation")
+    @Override
+    protected void onDraw(Canvas canvas) {
+        for (int row = 0; row < rows; row++) {
+            int cellTop = boardTop + row * cellSize;
+            float offset = animator.shakeOffset(row) * shakeAmplitude;
+            for (int column = 0; column < wordLength; column++) {
+                int cellLeft = boardLeft + column * cellSize;
+                if (canvas.quickReject(cellLeft + offset, cellTop, cellLeft + offset + cellSize, cellTop + cellSize,
+                        Canvas.EdgeType.BW)) {
+                    continue;
+                }
+                int tile = row * wordLength + column;
+
+                // Popping tiles stay inside their cell
+                float scale = Math.min(animator.popScale(tile), (float) cellSize / boxSize);
+                float scaleY = scale * animator.flipScale(tile);
+                boolean transformed = offset != 0 || scale != 1 || scaleY != 1;
+                int saveCount = 0;
+                if (transformed) {
+                    saveCount = canvas.save();
+                    canvas.translate(offset, 0);
+                    canvas.scale(scale, scaleY, cellLeft + cellSize / 2f, cellTop + cellSize / 2f);
+                }
+
+                // set active letter box border color
+                if (row == activeRow && column == typedCount - 1) {
+                    borderBoxPaint.setColor(blendColor(TilePalette.BORDER_COLOR, Color.GREEN, animator.popProgress(tile)));
+                } else {
+                    borderBoxPaint.setColor(TilePalette.BORDER_COLOR);
+                }
+
+                int left = cellLeft + tileSpacing;
+                int top = cellTop + tileSpacing;
+                int right = left + boxSize;
+                int bottom = top + boxSize;
+
+                // Draw borders
+                canvas.drawRect(left, top, right, bottom, borderBoxPaint);
+
+                // Draw background
+                // Colors show once a flipping tile is half way
+                backgroundPaint.setColor(animator.isRevealed(tile) ? tileColors[tile] : TilePalette.EMPTY_COLOR);
+                canvas.drawRect(
+                        left + borderWidth,
+                        top + borderWidth,
+                        right - borderWidth,
+                        bottom - borderWidth,
+                        backgroundPaint);
+
+                // Draw letters
+                if (letters[tile] != 0) {
+                    canvas.drawText(letters, tile, 1, cellLeft + textOffsetX, cellTop + textBaselineOffset, textPaint);
+                }
+                if (transformed) {
+                    canvas.restoreToCount(saveCount);
+                }
+            }
+        }
+    }
+
+    // Channel by channel, like ArgbEvaluator without boxing
+    private static int blendColor(int from, int to, float fraction) {
+        int a = (int) (Color.alpha(from) + (Color.alpha(to) - Color.alpha(from)) * fraction);
+        int r = (int) (Color.red(from) + (Color.red(to) - Color.red(from)) * fraction);
+        int g = (int) (Color.green(from) + (Color.green(to) - Color.green(from)) * fraction);
+        int b = (int) (Color.blue(from) + (Color.blue(to) - Color.blue(from)) * fraction);
+        return Color.argb(a, r, g, b);
+    }
+
+    // Soft keyboard input, the active row is the whole text as far as the IME is concerned.
+    // Composing text is shown right away and replaced as the IME updates it, committed and
+    // pasted text is filtered character by character (letters are uppercased, anything else
+    // is dropped), and key events go to onKeyDown.
+    private final class BoardInputConnection extends BaseInputConnection {
+        BoardInputConnection() {
+            super(GameBoardView.this, false);
+        }
+
+        @Override
+        public boolean setComposingText(CharSequence text, int newCursorPosition) {
+            if (activeRow < 0) {
+                return false;
+            }
+            if (composingStart < 0) {
+                composingStart = typedCount;
+            }
+            int start = composingStart;
+            truncateLetters(start);
+            appendLetters(text);
+            composingStart = start;
+            return true;
+        }
+
+        @Override
+        public boolean setComposingRegion(int start, int end) {
+            if (activeRow < 0) {
+                return false;
+            }
+            if (start == end) {
+                composingStart = -1;
+                return true;
+            }
+            // Only the letters right before the cursor can be composed again
+            if (Math.min(start, end) < 0 || Math.max(start, end) != typedCount) {
+                return false;
+            }
+            composingStart = Math.min(start, end);
+            return true;
+        }
+
+        @Override
+        public boolean finishComposingText() {
+            composingStart = -1;
+            return true;
+        }
+
+        @Override
+        public boolean commitText(CharSequence text, int newCursorPosition) {
+            if (activeRow < 0) {
+                return false;
+            }
+            if (composingStart >= 0) {
+                truncateLetters(composingStart);
+                composingStart = -1;
+            }
+            appendLetters(text);
+            return true;
+        }
+
+        @Override
+        public boolean deleteSurroundingText(int beforeLength, int afterLength) {
+            composingStart = -1;
+            truncateLetters(Math.max(typedCount - beforeLength, 0));
+            return true;
+        }
+
+        @Override
+        public boolean deleteSurroundingTextInCodePoints(int beforeLength, int afterLength) {
+            return deleteSurroundingText(beforeLength, afterLength);
+        }
+
+        @Override
+        public CharSequence getTextBeforeCursor(int length, int flags) {
+            if (activeRow < 0) {
+                return "";
+            }
+            int count = Math.min(length, typedCount);
+            return new String(letters, activeRow * wordLength + typedCount - count, count);
+        }
+
+        @Override
+        public CharSequence getTextAfterCursor(int length, int flags) {
+            return "";
+        }
+
+        @Override
+        public CharSequence getSelectedText(int flags) {
+            return null;
+        }
+
+        @Override
+        public int getCursorCapsMode(int reqModes) {
+            return reqModes & TextUtils.CAP_MODE_CHARACTERS;
+        }
+
+        @Override
+        public boolean performEditorAction(int actionCode) {
+            submit();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import android.view.HapticFeedbackConstants;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.Button;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.res.ResourcesCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Utils.PixelUtils;
+
+import java.util.List;
+
+// On-screen QWERTY keyboard colored by the game's key states (GuessScorer.KEY_*).
+// Key rectangles, labels and paints are prepared when the size changes, a state change
+// or a press only invalidates the keys it affects. Every key is a virtual view for
+// accessibility services, so TalkBack users can explore and type with it.
+public class KeyboardView extends View {
+    public interface OnKeyListener {
+        void onLetter(char letter);
+
+        void onDelete();
+
+        void onEnter();
+    }
+
+    static final int KEY_UNUSED_COLOR = 0xFF3A3A3C;
+    static final int KEY_ABSENT_COLOR = TilePalette.ABSENT_COLOR;
+    static final int KEY_PRESENT_COLOR = TilePalette.PRESENT_COLOR;
+    static final int KEY_CORRECT_COLOR = TilePalette.CORRECT_COLOR;
+    static final int KEY_PRESSED_COLOR = 0xFF5A5A5C;
+
+    private static final String[] ROWS = {"QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"};
+    private static final int LETTERS = 26;
+    // Keys after the letters
+    private static final int KEY_ENTER = LETTERS;
+    private static final int KEY_DELETE = LETTERS + 1;
+    private static final int KEY_COUNT = LETTERS + 2;
+    private static final int NO_KEY = -1;
+    private static final String DELETE_LABEL = "⌫";
+    // Enter and delete are this many letter keys wide
+    private static final float WIDE_KEY = 1.5f;
+    // Key height relative to its width
+    private static final float KEY_ASPECT = 1.4f;
+
+    // Key index is the letter (A = 0), then KEY_ENTER and KEY_DELETE
+    private final RectF[] keyRects = new RectF[KEY_COUNT];
+    private final char[] keyLabels = new char[LETTERS];
+    private final float[] labelX = new float[KEY_COUNT];
+    private final float[] labelY = new float[KEY_COUNT];
+    private final int[] keyStates = new int[LETTERS];
+    private final String enterLabel;
+    private final float keySpacing;
+    private final float cornerRadius;
+    private int pressedKey = NO_KEY;
+    private OnKeyListener onKeyListener;
+    private final KeyAccessibilityHelper accessibilityHelper;
+
+    // One paint per key state so drawing only picks one
+    private final Paint[] statePaints = new Paint[GuessScorer.KEY_CORRECT + 1];
+    private final Paint pressedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint wideLabelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    public KeyboardView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    // Creating it from XML layout files
+    public KeyboardView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    // Creating it from XML layout files with default style attribute
+    public KeyboardView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.KeyboardView, defStyleAttr, 0);
+        int fontId;
+        try {
+            keySpacing = ta.getDimension(R.styleable.KeyboardView_keySpacing, PixelUtils.convertDpToPixel(3, context));
+            fontId = ta.getResourceId(R.styleable.KeyboardView_android_fontFamily, 0);
+        } finally {
+            ta.recycle();
+        }
+        cornerRadius = PixelUtils.convertDpToPixel(4, context);
+        enterLabel = context.getString(R.string.key_enter);
+
+        int[] stateColors = {KEY_UNUSED_COLOR, KEY_ABSENT_COLOR, KEY_PRESENT_COLOR, KEY_CORRECT_COLOR};
+        for (int state = 0; state < statePaints.length; state++) {
+            statePaints[state] = new Paint(Paint.ANTI_ALIAS_FLAG);
+            statePaints[state].setColor(stateColors[state]);
+        }
+        pressedPaint.setColor(KEY_PRESSED_COLOR);
+        for (Paint paint : new Paint[]{labelPaint, wideLabelPaint}) {
+            paint.setColor(Color.WHITE);
+            paint.setTextAlign(Paint.Align.CENTER);
+            if (fontId != 0) {
+                paint.setTypeface(ResourcesCompat.getFont(context, fontId));
+            }
+        }
+
+        for (int key = 0; key < KEY_COUNT; key++) {
+            keyRects[key] = new RectF();
+        }
+        for (int letter = 0; letter < LETTERS; letter++) {
+            keyLabels[letter] = (char) ('A' + letter);
+        }
+
+        accessibilityHelper = new KeyAccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+    }
+
+    public void setOnKeyListener(@Nullable OnKeyListener listener) {
+        onKeyListener = listener;
+    }
+
+    /**
+     * @param letter 0 based letter index
+     * @param state  One of the GuessScorer.KEY_* states
+     */
+    public void setKeyState(int letter, int state) {
+        if (keyStates[letter] != state) {
+            keyStates[letter] = state;
+            invalidateKey(letter);
+            accessibilityHelper.invalidateVirtualView(letter);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void invalidateKey(int key) {
+        RectF rect = keyRects[key];
+        invalidate((int) rect.left, (int) rect.top, (int) Math.ceil(rect.right), (int) Math.ceil(rect.bottom));
+    }
+
+    // Full width, ten keys per row, the height follows
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = (int) (ROWS.length * KEY_ASPECT * width / ROWS[0].length());
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        float keyWidth = (float) w / ROWS[0].length();
+        float keyHeight = (float) h / ROWS.length;
+        labelPaint.setTextSize(Math.min(keyWidth, keyHeight) * 0.5f);
+        wideLabelPaint.setTextSize(Math.min(keyWidth, keyHeight) * 0.3f);
+
+        for (int row = 0; row < ROWS.length; row++) {
+            String letters = ROWS[row];
+            float rowWidth = letters.length() + (row == ROWS.length - 1 ? 2 * WIDE_KEY : 0);
+            float left = (w - rowWidth * keyWidth) / 2;
+            float top = row * keyHeight;
+            if (row == ROWS.length - 1) {
+                left = placeKey(KEY_ENTER, left, top, WIDE_KEY * keyWidth, keyHeight);
+            }
+            for (int i = 0; i < letters.length(); i++) {
+                left = placeKey(letters.charAt(i) - 'A', left, top, keyWidth, keyHeight);
+            }
+            if (row == ROWS.length - 1) {
+                placeKey(KEY_DELETE, left, top, WIDE_KEY * keyWidth, keyHeight);
+            }
+        }
+    }
+
+    // Sets the key rectangle and label position, returns the left edge of the next key
+    private float placeKey(int key, float left, float top, float width, float height) {
+        float spacing = keySpacing / 2;
+        keyRects[key].set(left + spacing, top + spacing, left + width - spacing, top + height - spacing);
+        Paint paint = key < LETTERS ? labelPaint : wideLabelPaint;
+        labelX[key] = keyRects[key].centerX();
+        labelY[key] = keyRects[key].centerY() - (paint.descent() + paint.ascent()) / 2;
+        return left + width;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        for (int key = 0; key < KEY_COUNT; key++) {
+            RectF rect = keyRects[key];
+            if (canvas.quickReject(rect, Canvas.EdgeType.BW)) {
+                continue;
+            }
+            Paint background;
+            if (key == pressedKey) {
+                background = pressedPaint;
+            } else if (key < LETTERS) {
+                background = statePaints[keyStates[key]];
+            } else {
+                background = statePaints[GuessScorer.KEY_UNUSED];
+            }
+            canvas.drawRoundRect(rect, cornerRadius, cornerRadius, background);
+
+            if (key < LETTERS) {
+                canvas.drawText(keyLabels, key, 1, labelX[key], labelY[key], labelPaint);
+            } else if (key == KEY_ENTER) {
+                canvas.drawText(enterLabel, labelX[key], labelY[key], wideLabelPaint);
+            } else {
+                canvas.drawText(DELETE_LABEL, labelX[key], labelY[key], labelPaint);
+            }
+        }
+    }
+
+    private int keyAt(float x, float y) {
+        for (int key = 0; key < KEY_COUNT; key++) {
+            if (keyRects[key].contains(x, y)) {
+                return key;
+            }
+        }
+        return NO_KEY;
+    }
+
+    private void setPressedKey(int key) {
+        if (key == pressedKey) {
+            return;
+        }
+        if (pressedKey != NO_KEY) {
+            invalidateKey(pressedKey);
+        }
+        pressedKey = key;
+        if (key != NO_KEY) {
+            invalidateKey(key);
+        }
+    }
+
+    // A key fires when the finger is lifted over the key it went down on
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                setPressedKey(keyAt(event.getX(), event.getY()));
+                if (pressedKey != NO_KEY) {
+                    performHapticFeedback(HapticFeedbackConstants.KEYBOARD_TAP);
+                }
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                if (pressedKey != NO_KEY && keyAt(event.getX(), event.getY()) != pressedKey) {
+                    setPressedKey(NO_KEY);
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                int key = pressedKey;
+                setPressedKey(NO_KEY);
+                if (key != NO_KEY) {
+                    performClick();
+                    dispatchKey(key);
+                }
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                setPressedKey(NO_KEY);
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    private void dispatchKey(int key) {
+        if (onKeyListener == null) {
+            return;
+        }
+        if (key == KEY_ENTER) {
+            onKeyListener.onEnter();
+        } else if (key == KEY_DELETE) {
+            onKeyListener.onDelete();
+        } else {
+            onKeyListener.onLetter(keyLabels[key]);
+        }
+    }
+
+    // One virtual view per key, its id is the key index
+    private class KeyAccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect bounds = new Rect();
+
+        KeyAccessibilityHelper(View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int key = keyAt(x, y);
+            return key != NO_KEY ? key : INVALID_ID;
+        }
+
+        // In reading order, row by row
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            for (int row = 0; row < ROWS.length; row++) {
+                if (row == ROWS.length - 1) {
+                    virtualViewIds.add(KEY_ENTER);
+                }
+                for (int i = 0; i < ROWS[row].length(); i++) {
+                    virtualViewIds.add(ROWS[row].charAt(i) - 'A');
+                }
+                if (row == ROWS.length - 1) {
+                    virtualViewIds.add(KEY_DELETE);
+                }
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            Context context = getContext();
+            if (virtualViewId == KEY_ENTER) {
+                node.setContentDescription(enterLabel);
+            } else if (virtualViewId == KEY_DELETE) {
+                node.setContentDescription(context.getString(R.string.key_delete));
+            } else {
+                node.setContentDescription(String.valueOf(keyLabels[virtualViewId]));
+                node.setStateDescription(stateDescription(context, keyStates[virtualViewId]));
+            }
+            node.setClassName(Button.class.getName());
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            keyRects[virtualViewId].roundOut(bounds);
+            node.setBoundsInParent(bounds);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                return false;
+            }
+            dispatchKey(virtualViewId);
+            sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
+    }
+
+    // Null for keys not played yet
+    @Nullable
+    private static String stateDescription(Context context, int state) {
+        switch (state) {
+            case GuessScorer.KEY_ABSENT:
+                return context.getString(R.string.key_state_absent);
+            case GuessScorer.KEY_PRESENT:
+                return context.getString(R.string.key_state_present);
+            case GuessScorer.KEY_CORRECT:
+                return context.getString(R.string.key_state_correct);
+            default:
+                return null;
+        }
+    }
+}
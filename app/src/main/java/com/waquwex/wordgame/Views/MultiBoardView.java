@@ -0,0 +1,308 @@
+package com.waquwex.wordgame.Views;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.res.ResourcesCompat;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.R;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Utils.PixelUtils;
+
+import java.util.Arrays;
+
+// Boards of a multi-board game (MultiBoardSession) in a grid of two columns, drawn by one view.
+// The typed word shows in the active row of every unsolved board. Typing invalidates one tile
+// per unsolved board and a scored row only the boards that were scored, so solved boards are
+// never drawn again. Up to 8 boards of 13 rows, onDraw skips every tile outside the clip and
+// allocates nothing.
+public class MultiBoardView extends View {
+    private static final int MAX_COLUMNS = 2;
+
+    private final int wordLength = WordCodec.WORD_LENGTH;
+    private final int tileSpacing;
+    private final int boardSpacing;
+    private final int borderWidth = (int) PixelUtils.convertDpToPixel(1, getContext());
+    private int boards = 0;
+    private int rows = 0;
+    // Board major, then row major like GameBoardView, 0 for empty tiles
+    private char[] letters = new char[0];
+    private int[] tileColors = new int[0];
+    private boolean[] solved = new boolean[0];
+    // Row taking input on every unsolved board, -1 when input is disabled
+    private int activeRow = -1;
+    private final char[] typed = new char[wordLength];
+    private int typedCount = 0;
+
+    private final Paint textPaint = new Paint();
+    private final Paint backgroundPaint = new Paint();
+    private final Paint borderBoxPaint = new Paint();
+    // Geometry, computed when the size or the board count changes
+    private int boardColumns;
+    private int cellSize;
+    private int boxSize;
+    private int boardWidth;
+    private int boardHeight;
+    private int gridLeft;
+    private int gridTop;
+    private float textOffsetX;
+    private float textBaselineOffset;
+
+    public MultiBoardView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    // Creating it from XML layout files
+    public MultiBoardView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    // Creating it from XML layout files with default style attribute
+    public MultiBoardView(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.MultiBoardView, defStyleAttr, 0);
+        Typeface typeface;
+        try {
+            tileSpacing = ta.getDimensionPixelSize(R.styleable.MultiBoardView_tileSpacing,
+                    (int) PixelUtils.convertDpToPixel(1, context));
+            boardSpacing = ta.getDimensionPixelSize(R.styleable.MultiBoardView_boardSpacing,
+                    (int) PixelUtils.convertDpToPixel(8, context));
+            int fontId = ta.getResourceId(R.styleable.MultiBoardView_android_fontFamily, 0);
+            typeface = fontId != 0 ? ResourcesCompat.getFont(context, fontId) : null;
+        } finally {
+            ta.recycle();
+        }
+
+        borderBoxPaint.setStyle(Paint.Style.FILL);
+        borderBoxPaint.setColor(TilePalette.BORDER_COLOR);
+        backgroundPaint.setStyle(Paint.Style.FILL);
+        textPaint.setSubpixelText(true);
+        textPaint.setAntiAlias(true);
+        textPaint.setColor(TilePalette.TEXT_COLOR);
+        textPaint.setTypeface(typeface);
+    }
+
+    /**
+     * Empties the view for a game of boards boards with rows rows each.
+     * Only changing the board or row count allocates.
+     */
+    public void setGame(int boards, int rows) {
+        if (boards <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("boards and rows must be positive");
+        }
+        if (boards != this.boards || rows != this.rows) {
+            this.boards = boards;
+            this.rows = rows;
+            letters = new char[boards * rows * wordLength];
+            tileColors = new int[boards * rows * wordLength];
+            solved = new boolean[boards];
+            updateGeometry(getWidth(), getHeight());
+        }
+        clear();
+    }
+
+    public int getBoardCount() {
+        return boards;
+    }
+
+    // Empties every tile and disables input
+    public void clear() {
+        Arrays.fill(letters, (char) 0);
+        Arrays.fill(tileColors, TilePalette.EMPTY_COLOR);
+        Arrays.fill(solved, false);
+        activeRow = -1;
+        typedCount = 0;
+        invalidate();
+    }
+
+    /**
+     * Shows a row scored on board.
+     *
+     * @param guessCode Packed guess (WordCodec)
+     * @param feedback  GuessScorer feedback of the guess on this board
+     */
+    public void setRowResult(int board, int row, int guessCode, int feedback) {
+        for (int column = 0; column < wordLength; column++) {
+            int tile = tileIndex(board, row, column);
+            letters[tile] = (char) ('A' + WordCodec.letterAt(guessCode, column));
+            tileColors[tile] = TilePalette.colorOf(GuessScorer.feedbackAt(feedback, column));
+        }
+        invalidateRow(board, row);
+    }
+
+    // A solved board stops showing the typed word
+    public void setSolved(int board) {
+        if (!solved[board]) {
+            solved[board] = true;
+            if (activeRow >= 0) {
+                invalidateRow(board, activeRow);
+            }
+        }
+    }
+
+    /**
+     * Moves input to row on every unsolved board, dropping the typed word.
+     *
+     * @param row Row taking input, -1 to disable input
+     */
+    public void setActiveRow(int row) {
+        if (activeRow >= 0) {
+            invalidateOpenRows(activeRow);
+        }
+        activeRow = row;
+        typedCount = 0;
+        if (row >= 0) {
+            invalidateOpenRows(row);
+        }
+    }
+
+    @NonNull
+    public String getTypedWord() {
+        return new String(typed, 0, typedCount);
+    }
+
+    // Replaces the typed word, e.g. when restoring state
+    public void setTypedWord(@NonNull CharSequence word) {
+        typedCount = 0;
+        for (int i = 0; i < word.length(); i++) {
+            typeLetter(word.charAt(i));
+        }
+        if (activeRow >= 0) {
+            invalidateOpenRows(activeRow);
+        }
+    }
+
+    // Adds a letter to the typed word, anything that isn't an English letter is ignored
+    public void typeLetter(char c) {
+        if (activeRow < 0 || typedCount == wordLength) {
+            return;
+        }
+        int letter = WordCodec.letterIndex(c);
+        if (letter < 0) {
+            return;
+        }
+        typed[typedCount++] = (char) ('A' + letter);
+        invalidateOpenTiles(activeRow, typedCount - 1);
+    }
+
+    public void deleteLetter() {
+        if (activeRow < 0 || typedCount == 0) {
+            return;
+        }
+        typedCount--;
+        invalidateOpenTiles(activeRow, typedCount);
+    }
+
+    private int tileIndex(int board, int row, int column) {
+        return (board * rows + row) * wordLength + column;
+    }
+
+    private int boardLeft(int board) {
+        return gridLeft + (board % boardColumns) * (boardWidth + boardSpacing);
+    }
+
+    private int boardTop(int board) {
+        return gridTop + (board / boardColumns) * (boardHeight + boardSpacing);
+    }
+
+    // One tile on every unsolved board
+    @SuppressWarnings("deprecation")
+    private void invalidateOpenTiles(int row, int column) {
+        for (int board = 0; board < boards; board++) {
+            if (!solved[board]) {
+                int left = boardLeft(board) + column * cellSize;
+                int top = boardTop(board) + row * cellSize;
+                invalidate(left, top, left + cellSize, top + cellSize);
+            }
+        }
+    }
+
+    private void invalidateOpenRows(int row) {
+        for (int board = 0; board < boards; board++) {
+            if (!solved[board]) {
+                invalidateRow(board, row);
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void invalidateRow(int board, int row) {
+        int left = boardLeft(board);
+        int top = boardTop(board) + row * cellSize;
+        invalidate(left, top, left + boardWidth, top + cellSize);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateGeometry(w, h);
+    }
+
+    // Largest square tiles that fit every board, grid centered in the view
+    private void updateGeometry(int w, int h) {
+        if (boards == 0) {
+            return;
+        }
+        boardColumns = Math.min(boards, MAX_COLUMNS);
+        int boardRows = (boards + boardColumns - 1) / boardColumns;
+        cellSize = Math.max(0, Math.min(
+                (w - (boardColumns - 1) * boardSpacing) / (boardColumns * wordLength),
+                (h - (boardRows - 1) * boardSpacing) / (boardRows * rows)));
+        boxSize = cellSize - 2 * tileSpacing;
+        boardWidth = cellSize * wordLength;
+        boardHeight = cellSize * rows;
+        gridLeft = (w - boardColumns * boardWidth - (boardColumns - 1) * boardSpacing) / 2;
+        gridTop = (h - boardRows * boardHeight - (boardRows - 1) * boardSpacing) / 2;
+
+        textPaint.setTextSize(boxSize);
+        textOffsetX = TilePalette.textOffsetX(tileSpacing, borderWidth, boxSize);
+        textBaselineOffset = TilePalette.textBaselineOffset(tileSpacing, borderWidth, boxSize);
+    }
+
+    // Allocation free, tiles outside the invalidated area are skipped
+    @SuppressWarnings("deprecation")
+    @Override
+    protected void onDraw(Canvas canvas) {
+        for (int board = 0; board < boards; board++) {
+            int left = boardLeft(board);
+            int top = boardTop(board);
+            if (canvas.quickReject(left, top, left + boardWidth, top + boardHeight, Canvas.EdgeType.BW)) {
+                continue;
+            }
+            for (int row = 0; row < rows; row++) {
+                int cellTop = top + row * cellSize;
+                boolean typing = row == activeRow && !solved[board];
+                for (int column = 0; column < wordLength; column++) {
+                    int cellLeft = left + column * cellSize;
+                    if (canvas.quickReject(cellLeft, cellTop, cellLeft + cellSize, cellTop + cellSize,
+                            Canvas.EdgeType.BW)) {
+                        continue;
+                    }
+                    int tile = tileIndex(board, row, column);
+                    int boxLeft = cellLeft + tileSpacing;
+                    int boxTop = cellTop + tileSpacing;
+
+                    canvas.drawRect(boxLeft, boxTop, boxLeft + boxSize, boxTop + boxSize, borderBoxPaint);
+                    backgroundPaint.setColor(tileColors[tile]);
+                    canvas.drawRect(boxLeft + borderWidth, boxTop + borderWidth,
+                            boxLeft + boxSize - borderWidth, boxTop + boxSize - borderWidth, backgroundPaint);
+
+                    if (typing && column < typedCount) {
+                        canvas.drawText(typed, column, 1, cellLeft + textOffsetX, cellTop + textBaselineOffset, textPaint);
+                    } else if (letters[tile] != 0) {
+                        canvas.drawText(letters, tile, 1, cellLeft + textOffsetX, cellTop + textBaselineOffset, textPaint);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.waquwex.wordgame.Views;
+
+import android.graphics.Color;
+
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+// Tile colors and letter placement shared by GameBoardView and MultiBoardView, so both boards
+// look the same whatever changes. Keyboard keys use the same greens, yellows and grays.
+final class TilePalette {
+    static final int CORRECT_COLOR = 0xFF105422;
+    static final int PRESENT_COLOR = 0xFF706e01;
+    static final int ABSENT_COLOR = 0xFF808080;
+    static final int EMPTY_COLOR = Color.BLACK;
+    static final int BORDER_COLOR = Color.WHITE;
+    static final int TEXT_COLOR = Color.WHITE;
+
+    private TilePalette() {
+    }
+
+    // Color of a scored tile, letterFeedback is GuessScorer.ABSENT, PRESENT or CORRECT
+    static int colorOf(int letterFeedback) {
+        if (letterFeedback == GuessScorer.CORRECT) {
+            return CORRECT_COLOR;
+        } else if (letterFeedback == GuessScorer.PRESENT) {
+            return PRESENT_COLOR;
+        }
+        return ABSENT_COLOR;
+    }
+
+    // Left edge of a letter drawn with text size boxSize, from the left of its cell
+    static float textOffsetX(int tileSpacing, int borderWidth, int boxSize) {
+        return tileSpacing + borderWidth + boxSize / 8.2f;
+    }
+
+    // Baseline of a letter drawn with text size boxSize, from the top of its cell
+    static float textBaselineOffset(int tileSpacing, int borderWidth, int boxSize) {
+        return tileSpacing + boxSize - borderWidth - boxSize / 9.5f;
+    }
+}
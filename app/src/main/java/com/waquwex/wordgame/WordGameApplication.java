@@ -0,0 +1,188 @@
+package com.waquwex.wordgame;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.waquwex.wordgame.Dictionary.AssetDictionaryLoader;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Metrics.Metrics;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+import com.waquwex.wordgame.Solver.FeedbackTable;
+import com.waquwex.wordgame.Stats.StatsRecorder;
+import com.waquwex.wordgame.Stats.StatsStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Starts loading the dictionary as soon as the process starts and keeps it for the
+// lifetime of the process, so activity recreation (e.g. rotation) never reads it again.
+public class WordGameApplication extends Application {
+    public interface DictionaryListener {
+        void onDictionaryReady(@NonNull WordDictionary dictionary);
+    }
+
+    public interface FeedbackTableListener {
+        void onFeedbackTableReady(@NonNull FeedbackTable feedbackTable);
+    }
+
+    private static final String TAG = "FEEDBACK_TABLE";
+    private static final String FEEDBACK_TABLE_CACHE = "feedback_table.bin";
+    private static final String STATS_LOG = "stats.log";
+    private static final String STATS_SNAPSHOT = "stats.snapshot";
+
+    private final ExecutorService loaderExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayList<DictionaryListener> dictionaryListeners = new ArrayList<>();
+    private final ArrayList<FeedbackTableListener> feedbackTableListeners = new ArrayList<>();
+    private final Metrics metrics = new Metrics();
+    private StatsRecorder statsRecorder;
+    // Only touched on the main thread
+    private WordDictionary dictionary;
+    private CandidateIndex candidateIndex;
+    private FeedbackTable feedbackTable;
+    private boolean feedbackTableRequested = false;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Loaded on the background thread ahead of the dictionary
+        statsRecorder = new StatsRecorder(new StatsStore(new File(getFilesDir(), STATS_LOG),
+                new File(getFilesDir(), STATS_SNAPSHOT), GameSession.DEFAULT_MAX_ROWS),
+                loaderExecutor, GameSession.DEFAULT_MAX_ROWS);
+
+        loaderExecutor.execute(() -> {
+            long start = System.nanoTime();
+            WordDictionary loaded;
+            try {
+                loaded = AssetDictionaryLoader.load(getAssets());
+            } catch (IOException e) {
+                mainHandler.post(() -> {
+                    throw new IllegalStateException("Word list asset is missing or corrupt", e);
+                });
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            metrics.dictionaryLoad.record(elapsed);
+            Log.i("DICTIONARY", loaded.size() + " words loaded in " + elapsed / 1000 + " us");
+            CandidateIndex index = CandidateIndex.build(loaded);
+            mainHandler.post(() -> publishDictionary(loaded, index));
+        });
+    }
+
+    /**
+     * Calls listener with the dictionary, right away if it is already loaded,
+     * otherwise on the main thread once loading finishes.
+     */
+    @MainThread
+    public void whenDictionaryReady(@NonNull DictionaryListener listener) {
+        if (dictionary != null) {
+            listener.onDictionaryReady(dictionary);
+        } else {
+            dictionaryListeners.add(listener);
+        }
+    }
+
+    // Forget a listener that is no longer interested, e.g. a destroyed activity
+    @MainThread
+    public void removeDictionaryListener(@NonNull DictionaryListener listener) {
+        dictionaryListeners.remove(listener);
+    }
+
+    /**
+     * Calls listener with the guess/answer feedback table. Nothing is built until the first
+     * request, then it is read from the no-backup cache or built in background and cached there.
+     */
+    @MainThread
+    public void whenFeedbackTableReady(@NonNull FeedbackTableListener listener) {
+        if (feedbackTable != null) {
+            listener.onFeedbackTableReady(feedbackTable);
+            return;
+        }
+        feedbackTableListeners.add(listener);
+        if (feedbackTableRequested) {
+            return;
+        }
+        feedbackTableRequested = true;
+        whenDictionaryReady(loaded -> loaderExecutor.execute(() -> {
+            File cacheFile = new File(getNoBackupFilesDir(), FEEDBACK_TABLE_CACHE);
+            FeedbackTable table = loadOrBuildFeedbackTable(cacheFile, loaded);
+            mainHandler.post(() -> publishFeedbackTable(table));
+        }));
+    }
+
+    // A cache that can't be read or written only costs a rebuild, the table is always returned
+    @WorkerThread
+    private static FeedbackTable loadOrBuildFeedbackTable(File cacheFile, WordDictionary loaded) {
+        try {
+            FeedbackTable cached = FeedbackTable.readCache(cacheFile, loaded);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Couldn't read feedback table cache, building it", e);
+        }
+        FeedbackTable built = FeedbackTable.build(loaded);
+        try {
+            built.writeCache(cacheFile, loaded);
+        } catch (IOException e) {
+            Log.w(TAG, "Couldn't write feedback table cache", e);
+        }
+        return built;
+    }
+
+    @MainThread
+    public void removeFeedbackTableListener(@NonNull FeedbackTableListener listener) {
+        feedbackTableListeners.remove(listener);
+    }
+
+    // Single background thread shared by loading and solver work
+    public Executor getBackgroundExecutor() {
+        return loaderExecutor;
+    }
+
+    public StatsRecorder getStatsRecorder() {
+        return statsRecorder;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Candidate masks of the loaded dictionary, available once DictionaryListeners have been called
+    @MainThread
+    public CandidateIndex getCandidateIndex() {
+        return candidateIndex;
+    }
+
+    private void publishDictionary(WordDictionary loaded, CandidateIndex index) {
+        dictionary = loaded;
+        candidateIndex = index;
+        // Copy first, listeners may remove themselves while being notified
+        ArrayList<DictionaryListener> listeners = new ArrayList<>(dictionaryListeners);
+        dictionaryListeners.clear();
+        for (DictionaryListener listener : listeners) {
+            listener.onDictionaryReady(loaded);
+        }
+    }
+
+    private void publishFeedbackTable(FeedbackTable table) {
+        feedbackTable = table;
+        ArrayList<FeedbackTableListener> listeners = new ArrayList<>(feedbackTableListeners);
+        feedbackTableListeners.clear();
+        for (FeedbackTableListener listener : listeners) {
+            listener.onFeedbackTableReady(table);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.waquwex.wordgame.Metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void buckets_coverEveryValueWithBoundedError() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> 1 + random.nextInt(63);
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.bucketUpperBound(index - 1) + 1;
+            assertTrue(value + " in [" + lower + ", " + upper + "]", value >= lower && value <= upper);
+            assertTrue(upper - lower <= Math.max(lower / LatencyHistogram.SUB_BUCKETS, 0));
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void percentiles_matchTheRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        for (long millis = 1; millis <= 100; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+        histogram.record(-5);
+
+        assertEquals(101, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMaxNanos());
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(50_000_000, histogram.getValueAtPercentile(50), 50_000_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(99_000_000, histogram.getValueAtPercentile(99), 99_000_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void record_isSafeFromManyThreads() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i * 4 + offset);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(200_000, histogram.getCount());
+        assertEquals(199_999, histogram.getMaxNanos());
+        assertEquals(199_999 / 2.0, histogram.getMeanNanos(), 1e-6);
+    }
+}
@@ -0,0 +1,41 @@
+package com.waquwex.wordgame.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+// Collects the classes and methods used by startup and a game, run through
+// ./gradlew :app:generateBaselineProfile which copies the result into the app sources.
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startupAndGame() {
+        baselineProfileRule.collect(
+                GameJourney.PACKAGE,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                // Startup profile as well, so the startup path is laid out in the primary dex
+                true,
+                false,
+                rule -> true,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    GameJourney.waitForBoard(scope);
+                    GameJourney.playGuesses(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
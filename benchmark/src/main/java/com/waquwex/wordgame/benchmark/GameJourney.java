@@ -0,0 +1,72 @@
+package com.waquwex.wordgame.benchmark;
+
+import android.graphics.Rect;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.Until;
+
+// Scripted game on MainActivity shared by the benchmarks and the baseline profile generator.
+// Keys are tapped at the positions KeyboardView lays them out at.
+final class GameJourney {
+    static final String PACKAGE = "com.waquwex.wordgame";
+    // Words of src/main/words/word_list.txt, the answer is random so the game may be won before the last one
+    private static final String[] GUESSES = {"CRANE", "SLATE", "HOUSE", "LIGHT", "MOUNT"};
+    private static final String[] ROWS = {"QWERTYUIOP", "ASDFGHJKL", "ZXCVBNM"};
+    // Enter and delete keys are this many letter keys wide
+    private static final float WIDE_KEY = 1.5f;
+    private static final long TIMEOUT_MS = 5_000;
+
+    private GameJourney() {
+    }
+
+    // Waits until the board takes input, the dictionary is loaded in background
+    static void waitForBoard(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.wait(Until.hasObject(By.res(PACKAGE, "keyboardView")), TIMEOUT_MS);
+        device.waitForIdle();
+    }
+
+    // Types and submits every guess on the in-app keyboard
+    static void playGuesses(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        Rect keyboard = device.findObject(By.res(PACKAGE, "keyboardView")).getVisibleBounds();
+        for (String word : GUESSES) {
+            for (int i = 0; i < word.length(); i++) {
+                tapLetter(device, keyboard, word.charAt(i));
+            }
+            tapEnter(device, keyboard);
+            device.waitForIdle();
+        }
+    }
+
+    private static void tapLetter(UiDevice device, Rect keyboard, char letter) {
+        float keyWidth = keyboard.width() / (float) ROWS[0].length();
+        for (int row = 0; row < ROWS.length; row++) {
+            int column = ROWS[row].indexOf(letter);
+            if (column < 0) {
+                continue;
+            }
+            float left;
+            if (row == ROWS.length - 1) {
+                // Enter key comes first in the last row, which is as wide as the first one
+                left = WIDE_KEY * keyWidth;
+            } else {
+                left = (keyboard.width() - ROWS[row].length() * keyWidth) / 2;
+            }
+            device.click(keyboard.left + (int) (left + (column + 0.5f) * keyWidth), rowCenter(keyboard, row));
+            return;
+        }
+        throw new IllegalArgumentException("No key for " + letter);
+    }
+
+    private static void tapEnter(UiDevice device, Rect keyboard) {
+        float keyWidth = keyboard.width() / (float) ROWS[0].length();
+        device.click(keyboard.left + (int) (WIDE_KEY * keyWidth / 2), rowCenter(keyboard, ROWS.length - 1));
+    }
+
+    private static int rowCenter(Rect keyboard, int row) {
+        return keyboard.top + (int) ((row + 0.5f) * keyboard.height() / ROWS.length);
+    }
+}
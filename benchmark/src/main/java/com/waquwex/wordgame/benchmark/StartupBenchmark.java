@@ -0,0 +1,58 @@
+package com.waquwex.wordgame.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+// Time to the first frame of MainActivity with the game board ready, with and without
+// the baseline profile. Partial compilation requires the profile to be installed.
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartupWithoutCompilation() {
+        startup(new CompilationMode.None(), StartupMode.COLD);
+    }
+
+    @Test
+    public void coldStartupWithBaselineProfile() {
+        startup(new CompilationMode.Partial(), StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStartupWithBaselineProfile() {
+        startup(new CompilationMode.Partial(), StartupMode.WARM);
+    }
+
+    private void startup(CompilationMode compilationMode, StartupMode startupMode) {
+        benchmarkRule.measureRepeated(
+                GameJourney.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    GameJourney.waitForBoard(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
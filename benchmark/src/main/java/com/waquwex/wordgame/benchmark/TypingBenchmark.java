@@ -0,0 +1,60 @@
+package com.waquwex.wordgame.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+// Frame times while typing and submitting guesses on the in-app keyboard, plus the time
+// spent in MainActivity.submitWord (its "submitWord" trace section). Every iteration starts
+// a new process, so every iteration plays a new game.
+@RunWith(AndroidJUnit4.class)
+public class TypingBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void typeAndSubmitWithoutCompilation() {
+        typeAndSubmit(new CompilationMode.None());
+    }
+
+    @Test
+    public void typeAndSubmitWithBaselineProfile() {
+        typeAndSubmit(new CompilationMode.Partial());
+    }
+
+    private void typeAndSubmit(CompilationMode compilationMode) {
+        List<Metric> metrics = Arrays.asList(new FrameTimingMetric(),
+                new TraceSectionMetric("submitWord", TraceSectionMetric.Mode.Sum));
+        benchmarkRule.measureRepeated(
+                GameJourney.PACKAGE,
+                metrics,
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    GameJourney.waitForBoard(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    GameJourney.playGuesses(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
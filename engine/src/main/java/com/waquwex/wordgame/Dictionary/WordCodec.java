@@ -0,0 +1,60 @@
+package com.waquwex.wordgame.Dictionary;
+
+// Packs a word into an int, 5 bits per letter, first letter in the highest bits.
+// Letters are stored 1-based (A = 1 ... Z = 26) so a zero field never means 'A',
+// and sorting codes numerically gives the same order as sorting words alphabetically.
+public final class WordCodec {
+    public static final int WORD_LENGTH = 5;
+    public static final int BITS_PER_LETTER = 5;
+    public static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    public static final int INVALID = -1;
+
+    private WordCodec() {
+    }
+
+    /**
+     * Packs a five letter word without allocating.
+     *
+     * @param word Characters to pack, letters in either case
+     * @return Packed code or {@link #INVALID} if the length is wrong or a character is not A-Z
+     */
+    public static int pack(CharSequence word) {
+        if (word == null || word.length() != WORD_LENGTH) {
+            return INVALID;
+        }
+        int code = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0) {
+                return INVALID;
+            }
+            code = (code << BITS_PER_LETTER) | (letter + 1);
+        }
+        return code;
+    }
+
+    // Unpack to uppercase String, only meant for display and logging
+    public static String unpack(int code) {
+        char[] chars = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            chars[i] = (char) ('A' + letterAt(code, i));
+        }
+        return new String(chars);
+    }
+
+    // Zero based letter index (A = 0) at given position of a packed word
+    public static int letterAt(int code, int position) {
+        return ((code >>> ((WORD_LENGTH - 1 - position) * BITS_PER_LETTER)) & LETTER_MASK) - 1;
+    }
+
+    // Zero based letter index (A = 0) of a character or -1 if it is not an English letter
+    public static int letterIndex(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.waquwex.wordgame.Dictionary;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+// Immutable set of five letter words, stored as sorted packed codes (see WordCodec).
+// Lookups are a binary search so they don't allocate and stay cheap for lists with
+// hundreds of thousands of words (4 bytes per word). Codes live either in a heap
+// int[] or in a buffer mapped straight from the compiled word list asset.
+public final class WordDictionary {
+    private final IntBuffer codes;
+    private final int size;
+
+    private WordDictionary(IntBuffer sortedCodes) {
+        this.codes = sortedCodes;
+        this.size = sortedCodes.limit();
+    }
+
+    /**
+     * Builds a dictionary from raw words. Words that are not five English letters are skipped,
+     * duplicates are removed.
+     *
+     * @param words Words in any case
+     * @return New dictionary
+     */
+    public static WordDictionary fromWords(Iterable<? extends CharSequence> words) {
+        int[] codes = new int[64];
+        int count = 0;
+        for (CharSequence word : words) {
+            int code = WordCodec.pack(word);
+            if (code == WordCodec.INVALID) {
+                continue;
+            }
+            if (count == codes.length) {
+                codes = Arrays.copyOf(codes, count * 2);
+            }
+            codes[count++] = code;
+        }
+        return fromCodes(codes, count);
+    }
+
+    // Takes ownership of the array, it is sorted and compacted in place
+    public static WordDictionary fromCodes(int[] codes, int count) {
+        Arrays.sort(codes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || codes[unique - 1] != codes[i]) {
+                codes[unique++] = codes[i];
+            }
+        }
+        return new WordDictionary(IntBuffer.wrap(codes, 0, unique).slice());
+    }
+
+    // Wraps codes that are already sorted and unique, e.g. a mapped word list asset.
+    // The buffer is used as is, nothing is copied.
+    public static WordDictionary fromSortedCodes(IntBuffer sortedCodes) {
+        return new WordDictionary(sortedCodes.slice());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(CharSequence word) {
+        return indexOf(WordCodec.pack(word)) >= 0;
+    }
+
+    public boolean containsCode(int code) {
+        return indexOf(code) >= 0;
+    }
+
+    // Position of the code in sorted order or a negative value if it is missing
+    public int indexOf(int code) {
+        if (code == WordCodec.INVALID) {
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midCode = codes.get(mid);
+            if (midCode < code) {
+                low = mid + 1;
+            } else if (midCode > code) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public int codeAt(int index) {
+        return codes.get(index);
+    }
+
+    // Uppercase word at index
+    public String wordAt(int index) {
+        return WordCodec.unpack(codes.get(index));
+    }
+}
@@ -0,0 +1,127 @@
+package com.waquwex.wordgame.Dictionary;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+// Binary word list produced by the compileWordList Gradle task (see app/build.gradle), which runs main.
+// All values are big endian:
+//   int magic     'WDIC'
+//   int version   FORMAT_VERSION
+//   int count     number of words
+//   int checksum  CRC32 of the code bytes
+//   int[count]    sorted, unique packed codes (WordCodec, 25 bits used per int)
+// Codes are kept 4 byte aligned so the file can be mapped and read as an IntBuffer.
+public final class WordListFormat {
+    public static final int MAGIC = 0x57444943;
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final String ASSET_NAME = "word_list.bin";
+
+    private WordListFormat() {
+    }
+
+    /**
+     * Reads a compiled word list without copying the codes.
+     *
+     * @param buffer Whole file content, e.g. a mapped asset
+     * @return Dictionary backed by the given buffer
+     * @throws IOException If the header doesn't match or the checksum fails
+     */
+    public static WordDictionary read(ByteBuffer buffer) throws IOException {
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (data.remaining() < HEADER_SIZE) {
+            throw new IOException("Word list is truncated");
+        }
+        int magic = data.getInt();
+        int version = data.getInt();
+        int count = data.getInt();
+        int checksum = data.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a word list file");
+        }
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported word list version " + version);
+        }
+        if (count < 0 || data.remaining() != count * 4) {
+            throw new IOException("Word list size doesn't match header");
+        }
+        if (checksum(data) != checksum) {
+            throw new IOException("Word list checksum mismatch");
+        }
+        IntBuffer codes = data.slice().order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+        return WordDictionary.fromSortedCodes(codes);
+    }
+
+    public static void write(WordDictionary dictionary, OutputStream outputStream) throws IOException {
+        int count = dictionary.size();
+        ByteBuffer codes = ByteBuffer.allocate(count * 4);
+        for (int i = 0; i < count; i++) {
+            codes.putInt(dictionary.codeAt(i));
+        }
+        codes.flip();
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(count);
+        out.writeInt(checksum(codes));
+        out.write(codes.array(), 0, count * 4);
+        out.flush();
+    }
+
+    /**
+     * Compiles a word list, one word per line, into the binary format.
+     * Arguments: the word list, then the output file.
+     *
+     * @throws IllegalArgumentException If a line holds anything but a five letter word
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: WordListFormat <word list> <output>");
+        }
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toUpperCase(Locale.ROOT);
+                if (word.isEmpty()) {
+                    continue;
+                }
+                if (WordCodec.pack(word) == WordCodec.INVALID) {
+                    throw new IllegalArgumentException("Invalid word '" + line + "' in " + args[0]);
+                }
+                words.add(word);
+            }
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            write(WordDictionary.fromWords(words), out);
+        }
+    }
+
+    // CRC32 through a small scratch array, CRC32.update(ByteBuffer) needs API 26
+    private static int checksum(ByteBuffer data) {
+        ByteBuffer source = data.duplicate();
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[4096];
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,266 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+import com.waquwex.wordgame.Solver.CandidateSet;
+
+import java.util.Arrays;
+
+// Rules and state of one game: the answer, the submitted rows with their feedback, the
+// keyboard letter states and whether the game is won or lost. Everything is kept in primitive
+// arrays sized up front, so starting and playing games allocates nothing and a session can be
+// reused for any number of games, e.g. by simulations. Views only render what it reports.
+public final class GameSession {
+    public static final int DEFAULT_MAX_ROWS = 6;
+    private static final int LETTERS = 26;
+    // saveState layout: answer code, row count, then guess code and feedback per row
+    private static final int STATE_HEADER = 2;
+
+    public enum Status {
+        // start hasn't been called yet
+        NOT_STARTED,
+        IN_PROGRESS,
+        WON,
+        LOST
+    }
+
+    public enum SubmitResult {
+        // Not a word of the dictionary, nothing changed
+        INVALID_WORD,
+        // Hard mode is on and the guess leaves out a revealed hint, nothing changed
+        MISSES_HINT,
+        // Scored, there are rows left
+        ACCEPTED,
+        WON,
+        LOST,
+        // Game is already over (or not started), nothing changed
+        GAME_OVER
+    }
+
+    private final WordDictionary dictionary;
+    private final int maxRows;
+    private final int[] guessCodes;
+    private final int[] feedbacks;
+    private final int[] keyStates = new int[LETTERS];
+    // Hints revealed so far, kept up to date in either mode
+    private final HardModeConstraints constraints = new HardModeConstraints();
+    private boolean hardMode = false;
+    // Null if the session was created without a CandidateIndex
+    private final CandidateSet candidates;
+    private int answerCode = WordCodec.INVALID;
+    private int rowCount;
+    private Status status = Status.NOT_STARTED;
+
+    /**
+     * @param dictionary     Valid guesses and answers
+     * @param candidateIndex Index of the same dictionary to track possible answers, or null
+     * @param maxRows        Guesses allowed per game
+     */
+    public GameSession(WordDictionary dictionary, CandidateIndex candidateIndex, int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be positive");
+        }
+        if (candidateIndex != null && candidateIndex.getDictionary() != dictionary) {
+            throw new IllegalArgumentException("Candidate index doesn't belong to the dictionary");
+        }
+        this.dictionary = dictionary;
+        this.maxRows = maxRows;
+        this.guessCodes = new int[maxRows];
+        this.feedbacks = new int[maxRows];
+        this.candidates = candidateIndex != null ? new CandidateSet(candidateIndex) : null;
+    }
+
+    public GameSession(WordDictionary dictionary, CandidateIndex candidateIndex) {
+        this(dictionary, candidateIndex, DEFAULT_MAX_ROWS);
+    }
+
+    /**
+     * Starts a new game, dropping whatever was played before.
+     *
+     * @param answerCode Packed answer (WordCodec), must be in the dictionary
+     */
+    public void start(int answerCode) {
+        if (!dictionary.containsCode(answerCode)) {
+            throw new IllegalArgumentException("Answer is not in the dictionary");
+        }
+        this.answerCode = answerCode;
+        rowCount = 0;
+        Arrays.fill(keyStates, GuessScorer.KEY_UNUSED);
+        constraints.reset();
+        if (candidates != null) {
+            candidates.reset();
+        }
+        status = Status.IN_PROGRESS;
+    }
+
+    // Scores a typed guess, see submitCode
+    public SubmitResult submit(CharSequence guess) {
+        return submitCode(WordCodec.pack(guess));
+    }
+
+    /**
+     * Scores a guess and moves to the next row.
+     *
+     * @param guessCode Packed guess (WordCodec), WordCodec.INVALID is rejected like unknown words
+     */
+    public SubmitResult submitCode(int guessCode) {
+        if (status != Status.IN_PROGRESS) {
+            return SubmitResult.GAME_OVER;
+        }
+        if (guessCode == WordCodec.INVALID || !dictionary.containsCode(guessCode)) {
+            return SubmitResult.INVALID_WORD;
+        }
+        if (hardMode && !constraints.allows(guessCode)) {
+            return SubmitResult.MISSES_HINT;
+        }
+
+        int feedback = GuessScorer.score(guessCode, answerCode);
+        guessCodes[rowCount] = guessCode;
+        feedbacks[rowCount] = feedback;
+        rowCount++;
+        GuessScorer.mergeKeyStates(guessCode, feedback, keyStates);
+        constraints.apply(guessCode, feedback);
+        if (candidates != null) {
+            candidates.apply(guessCode, feedback);
+        }
+
+        if (feedback == GuessScorer.ALL_CORRECT) {
+            status = Status.WON;
+            return SubmitResult.WON;
+        }
+        if (rowCount == maxRows) {
+            status = Status.LOST;
+            return SubmitResult.LOST;
+        }
+        return SubmitResult.ACCEPTED;
+    }
+
+    // Later guesses must use every hint revealed so far, also the ones revealed before turning it on
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isOver() {
+        return status == Status.WON || status == Status.LOST;
+    }
+
+    public int getAnswerCode() {
+        return answerCode;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    // Number of submitted rows, which is also the index of the row being typed
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getGuessCode(int row) {
+        checkRow(row);
+        return guessCodes[row];
+    }
+
+    // GuessScorer feedback of a submitted row
+    public int getFeedback(int row) {
+        checkRow(row);
+        return feedbacks[row];
+    }
+
+    /**
+     * @param letter 0 based letter index (WordCodec.letterAt)
+     * @return One of the GuessScorer.KEY_* states
+     */
+    public int getKeyState(int letter) {
+        return keyStates[letter];
+    }
+
+    // Possible answers left, null if the session was created without a CandidateIndex
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Saves the game so it can be restored, e.g. into a Bundle.
+     * Candidates are saved separately with CandidateSet.toLongArray.
+     */
+    public int[] saveState() {
+        int[] state = new int[STATE_HEADER + 2 * rowCount];
+        state[0] = answerCode;
+        state[1] = rowCount;
+        for (int row = 0; row < rowCount; row++) {
+            state[STATE_HEADER + 2 * row] = guessCodes[row];
+            state[STATE_HEADER + 2 * row + 1] = feedbacks[row];
+        }
+        return state;
+    }
+
+    /**
+     * Restores a game saved with saveState. Saved feedback is reused, nothing is scored again,
+     * and the candidates are narrowed from the rows only if candidateBits can't be used.
+     * Hard mode constraints are rebuilt from the rows, the mode itself is kept as it is.
+     *
+     * @param candidateBits Bits saved with CandidateSet.toLongArray, may be null
+     * @return false if the state doesn't fit this dictionary or row count, the session is left unchanged
+     */
+    public boolean restoreState(int[] state, long[] candidateBits) {
+        if (state == null || state.length < STATE_HEADER) {
+            return false;
+        }
+        int savedRows = state[1];
+        if (savedRows < 0 || savedRows > maxRows || state.length != STATE_HEADER + 2 * savedRows
+                || !dictionary.containsCode(state[0])) {
+            return false;
+        }
+        for (int row = 0; row < savedRows; row++) {
+            int feedback = state[STATE_HEADER + 2 * row + 1];
+            if (!dictionary.containsCode(state[STATE_HEADER + 2 * row])
+                    || feedback < 0 || feedback >= GuessScorer.FEEDBACK_COUNT
+                    || (feedback == GuessScorer.ALL_CORRECT && row != savedRows - 1)) {
+                return false;
+            }
+        }
+
+        start(state[0]);
+        for (int row = 0; row < savedRows; row++) {
+            guessCodes[row] = state[STATE_HEADER + 2 * row];
+            feedbacks[row] = state[STATE_HEADER + 2 * row + 1];
+            GuessScorer.mergeKeyStates(guessCodes[row], feedbacks[row], keyStates);
+            constraints.apply(guessCodes[row], feedbacks[row]);
+        }
+        rowCount = savedRows;
+        if (candidates != null && !candidates.restore(candidateBits)) {
+            for (int row = 0; row < rowCount; row++) {
+                candidates.apply(guessCodes[row], feedbacks[row]);
+            }
+        }
+
+        if (rowCount > 0 && feedbacks[rowCount - 1] == GuessScorer.ALL_CORRECT) {
+            status = Status.WON;
+        } else if (rowCount == maxRows) {
+            status = Status.LOST;
+        }
+        return true;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " hasn't been submitted");
+        }
+    }
+}
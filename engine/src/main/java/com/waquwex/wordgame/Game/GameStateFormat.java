@@ -0,0 +1,118 @@
+package com.waquwex.wordgame.Game;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+// Saved game, rewritten when a game starts and appended to after every submitted row.
+// All values are big endian:
+//   int  magic     'WGST'
+//   byte version   FORMAT_VERSION
+//   byte maxRows   rows of the session that saved it
+//   int  answer    packed answer (WordCodec)
+//   byte check     low byte of the CRC32 of the header bytes before it
+// followed by one record per submitted row:
+//   int  guess     packed guess (WordCodec)
+//   byte feedback  GuessScorer feedback
+//   byte check     low byte of the CRC32 of answer, row index, guess and feedback
+// A record cut short by a killed process or failing its check (e.g. left over from another
+// game) ends the saved game at the row before it. Feedback is stored, so restoring scores nothing.
+public final class GameStateFormat {
+    public static final int MAGIC = 0x57475354;
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 11;
+    public static final int RECORD_SIZE = 6;
+
+    private GameStateFormat() {
+    }
+
+    // File length of a game with rows submitted rows
+    public static int length(int rows) {
+        return HEADER_SIZE + rows * RECORD_SIZE;
+    }
+
+    // Header and every submitted row of session
+    public static byte[] encode(GameSession session) {
+        ByteBuffer data = ByteBuffer.allocate(length(session.getRowCount()));
+        data.putInt(MAGIC);
+        data.put((byte) FORMAT_VERSION);
+        data.put((byte) session.getMaxRows());
+        data.putInt(session.getAnswerCode());
+        data.put(check(data.array(), 0, HEADER_SIZE - 1));
+        for (int row = 0; row < session.getRowCount(); row++) {
+            putRecord(data, session, row);
+        }
+        return data.array();
+    }
+
+    // Record of one submitted row, to be appended to a file holding the rows before it
+    public static byte[] encodeRow(GameSession session, int row) {
+        ByteBuffer data = ByteBuffer.allocate(RECORD_SIZE);
+        putRecord(data, session, row);
+        return data.array();
+    }
+
+    /**
+     * Restores a saved game into session, see GameSession.restoreState.
+     *
+     * @param data   File content, may end with a partial record
+     * @param length Number of valid bytes in data
+     * @return false if data isn't a game saved for a session like this one, session is left unchanged
+     */
+    public static boolean restore(byte[] data, int length, GameSession session) {
+        if (length < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer in = ByteBuffer.wrap(data, 0, length);
+        int magic = in.getInt();
+        int version = in.get();
+        int maxRows = in.get() & 0xFF;
+        int answerCode = in.getInt();
+        byte headerCheck = in.get();
+        if (magic != MAGIC || version != FORMAT_VERSION || maxRows != session.getMaxRows()
+                || headerCheck != check(data, 0, HEADER_SIZE - 1)) {
+            return false;
+        }
+
+        int rows = Math.min((length - HEADER_SIZE) / RECORD_SIZE, maxRows);
+        int[] state = new int[2 + 2 * rows];
+        int validRows = 0;
+        for (int row = 0; row < rows; row++) {
+            int guessCode = in.getInt();
+            int feedback = in.get() & 0xFF;
+            if (in.get() != recordCheck(answerCode, row, guessCode, feedback)) {
+                break;
+            }
+            state[2 + 2 * row] = guessCode;
+            state[2 + 2 * row + 1] = feedback;
+            validRows++;
+        }
+        state[0] = answerCode;
+        state[1] = validRows;
+        if (validRows < rows) {
+            int[] valid = new int[2 + 2 * validRows];
+            System.arraycopy(state, 0, valid, 0, valid.length);
+            state = valid;
+        }
+        return session.restoreState(state, null);
+    }
+
+    private static void putRecord(ByteBuffer data, GameSession session, int row) {
+        int guessCode = session.getGuessCode(row);
+        int feedback = session.getFeedback(row);
+        data.putInt(guessCode);
+        data.put((byte) feedback);
+        data.put(recordCheck(session.getAnswerCode(), row, guessCode, feedback));
+    }
+
+    private static byte recordCheck(int answerCode, int row, int guessCode, int feedback) {
+        byte[] bytes = ByteBuffer.allocate(10).putInt(answerCode).put((byte) row)
+                .putInt(guessCode).put((byte) feedback).array();
+        return check(bytes, 0, bytes.length);
+    }
+
+    private static byte check(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (byte) crc.getValue();
+    }
+}
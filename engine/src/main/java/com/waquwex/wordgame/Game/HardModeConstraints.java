@@ -0,0 +1,110 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+// What hard mode holds a guess to: every green stays in place and every revealed letter is used
+// at least as often as it was revealed in one row (greens and yellows together).
+//
+// Greens are a mask over the packed code (WordCodec) and the letters expected under it, so
+// checking them is one AND and one compare. Minimum counts are 4 bit fields, letters A to P in
+// one long and Q to Z in another. A guess's counts are built the same way and compared with all
+// minimums at once: with the top bit of every field set, subtracting a minimum (at most 5) never
+// borrows from the next field and clears the top bit only where the guess has too few.
+public final class HardModeConstraints {
+    private static final int COUNT_BITS = 4;
+    private static final int LETTERS_PER_LONG = 16;
+    private static final long FIELD_MASK = (1L << COUNT_BITS) - 1;
+    private static final long GUARD_BITS = 0x8888_8888_8888_8888L;
+
+    // Packed letter bits of the positions revealed green, and the letters they must hold
+    private int greenMask;
+    private int greenCode;
+    private long minCountsLow;
+    private long minCountsHigh;
+
+    // No hints revealed yet, every guess is allowed
+    public void reset() {
+        greenMask = 0;
+        greenCode = 0;
+        minCountsLow = 0;
+        minCountsHigh = 0;
+    }
+
+    // The whole state, for callers keeping many games in primitive arrays (the server's SessionStore)
+    public void set(int greenMask, int greenCode, long minCountsLow, long minCountsHigh) {
+        this.greenMask = greenMask;
+        this.greenCode = greenCode;
+        this.minCountsLow = minCountsLow;
+        this.minCountsHigh = minCountsHigh;
+    }
+
+    public int getGreenMask() {
+        return greenMask;
+    }
+
+    public int getGreenCode() {
+        return greenCode;
+    }
+
+    public long getMinCountsLow() {
+        return minCountsLow;
+    }
+
+    public long getMinCountsHigh() {
+        return minCountsHigh;
+    }
+
+    // Adds the hints of a scored row
+    public void apply(int guessCode, int feedback) {
+        long rowLow = 0;
+        long rowHigh = 0;
+        for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+            int state = GuessScorer.feedbackAt(feedback, i);
+            if (state == GuessScorer.ABSENT) {
+                continue;
+            }
+            int letter = WordCodec.letterAt(guessCode, i);
+            if (letter < LETTERS_PER_LONG) {
+                rowLow += 1L << (letter * COUNT_BITS);
+            } else {
+                rowHigh += 1L << ((letter - LETTERS_PER_LONG) * COUNT_BITS);
+            }
+            if (state == GuessScorer.CORRECT) {
+                int shift = (WordCodec.WORD_LENGTH - 1 - i) * WordCodec.BITS_PER_LETTER;
+                greenMask |= WordCodec.LETTER_MASK << shift;
+                greenCode |= guessCode & (WordCodec.LETTER_MASK << shift);
+            }
+        }
+        minCountsLow = fieldMax(minCountsLow, rowLow);
+        minCountsHigh = fieldMax(minCountsHigh, rowHigh);
+    }
+
+    // Whether guessCode uses every hint applied so far
+    public boolean allows(int guessCode) {
+        if ((guessCode & greenMask) != greenCode) {
+            return false;
+        }
+        long countsLow = 0;
+        long countsHigh = 0;
+        for (int shift = 0; shift < WordCodec.WORD_LENGTH * WordCodec.BITS_PER_LETTER; shift += WordCodec.BITS_PER_LETTER) {
+            int letter = ((guessCode >>> shift) & WordCodec.LETTER_MASK) - 1;
+            if (letter < LETTERS_PER_LONG) {
+                countsLow += 1L << (letter * COUNT_BITS);
+            } else {
+                countsHigh += 1L << ((letter - LETTERS_PER_LONG) * COUNT_BITS);
+            }
+        }
+        return (((countsLow | GUARD_BITS) - minCountsLow) & GUARD_BITS) == GUARD_BITS
+                && (((countsHigh | GUARD_BITS) - minCountsHigh) & GUARD_BITS) == GUARD_BITS;
+    }
+
+    // Field by field maximum of two count vectors, once per row
+    private static long fieldMax(long a, long b) {
+        long max = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += COUNT_BITS) {
+            max |= Math.max((a >>> shift) & FIELD_MASK, (b >>> shift) & FIELD_MASK) << shift;
+        }
+        return max;
+    }
+}
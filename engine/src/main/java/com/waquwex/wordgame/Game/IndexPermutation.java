@@ -0,0 +1,63 @@
+package com.waquwex.wordgame.Game;
+
+// Seeded bijection of [0, size), so the n-th element of a shuffled list can be computed without
+// shuffling it. A 4 round Feistel network permutes the smallest even-bit domain holding size
+// (less than 4 * size), results outside [0, size) are fed through again (cycle walking), which
+// takes under 4 rounds on average.
+public final class IndexPermutation {
+    private static final int ROUNDS = 4;
+
+    private final int size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public IndexPermutation(int size, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.size = size;
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(size - 1));
+        halfBits = (bits + 1) / 2;
+        halfMask = (1L << halfBits) - 1;
+        long state = seed;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix(state);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Element at index of the permuted sequence, 0 <= index < size
+    public int apply(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " outside 0.." + (size - 1));
+        }
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long key : roundKeys) {
+            long next = left ^ (mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,294 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.util.Arrays;
+
+// Several boards with their own answers played with the same guesses (2, 4 or 8 answers).
+// A guess is validated once and scored against every unsolved board in one GuessScorer.scoreAll
+// call, solved boards take no more rows. Like GameSession all state is in arrays sized up front,
+// so playing allocates nothing. The game is won once every board is solved.
+public final class MultiBoardSession {
+    public static final int MAX_BOARDS = 8;
+    private static final int LETTERS = 26;
+    // saveState layout: board count, row count, answer per board, then guess code per row
+    private static final int STATE_HEADER = 2;
+
+    private final WordDictionary dictionary;
+    private final int boards;
+    private final int maxRows;
+    private final int[] answerCodes;
+    private final int[] guessCodes;
+    // Board major, boards * maxRows, rows after a board was solved are unused
+    private final int[] feedbacks;
+    // Row a board was solved in, -1 while unsolved
+    private final int[] solvedRows;
+    // Per board key states, and merged over the unsolved boards for the keyboard
+    private final int[] boardKeyStates;
+    private final int[] keyStates = new int[LETTERS];
+    // Unsolved boards and their answers, packed for scoreAll
+    private final int[] openBoards;
+    private final int[] openAnswers;
+    private final int[] openFeedbacks;
+    private int openCount;
+    // Boards scored by the last submit
+    private final int[] scoredBoards;
+    private int scoredCount;
+    private int rowCount;
+    private GameSession.Status status = GameSession.Status.NOT_STARTED;
+
+    /**
+     * @param boards  Answers per game, 1 to MAX_BOARDS
+     * @param maxRows Guesses allowed per game, see defaultMaxRows
+     */
+    public MultiBoardSession(WordDictionary dictionary, int boards, int maxRows) {
+        if (boards <= 0 || boards > MAX_BOARDS) {
+            throw new IllegalArgumentException("boards must be 1 to " + MAX_BOARDS);
+        }
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be positive");
+        }
+        this.dictionary = dictionary;
+        this.boards = boards;
+        this.maxRows = maxRows;
+        answerCodes = new int[boards];
+        guessCodes = new int[maxRows];
+        feedbacks = new int[boards * maxRows];
+        solvedRows = new int[boards];
+        boardKeyStates = new int[boards * LETTERS];
+        openBoards = new int[boards];
+        openAnswers = new int[boards];
+        openFeedbacks = new int[boards];
+        scoredBoards = new int[boards];
+    }
+
+    // One row per board on top of the single board game: 7, 9 and 13 rows for 2, 4 and 8 boards
+    public static int defaultMaxRows(int boards) {
+        return GameSession.DEFAULT_MAX_ROWS - 1 + boards;
+    }
+
+    /**
+     * Starts a new game, dropping whatever was played before.
+     *
+     * @param answerCodes Packed answers (WordCodec), one per board, all in the dictionary
+     */
+    public void start(int[] answerCodes) {
+        if (answerCodes.length != boards) {
+            throw new IllegalArgumentException("Expected " + boards + " answers");
+        }
+        for (int answerCode : answerCodes) {
+            if (!dictionary.containsCode(answerCode)) {
+                throw new IllegalArgumentException("Answer is not in the dictionary");
+            }
+        }
+        System.arraycopy(answerCodes, 0, this.answerCodes, 0, boards);
+        rowCount = 0;
+        scoredCount = 0;
+        Arrays.fill(solvedRows, -1);
+        Arrays.fill(boardKeyStates, GuessScorer.KEY_UNUSED);
+        Arrays.fill(keyStates, GuessScorer.KEY_UNUSED);
+        openCount = boards;
+        for (int board = 0; board < boards; board++) {
+            openBoards[board] = board;
+            openAnswers[board] = answerCodes[board];
+        }
+        status = GameSession.Status.IN_PROGRESS;
+    }
+
+    // Scores a typed guess, see submitCode
+    public GameSession.SubmitResult submit(CharSequence guess) {
+        return submitCode(WordCodec.pack(guess));
+    }
+
+    /**
+     * Scores a guess on every unsolved board and moves to the next row.
+     * WON means every board is solved now, boards solved by this guess are reported by
+     * getScoredBoard with getSolvedRow equal to the row.
+     */
+    public GameSession.SubmitResult submitCode(int guessCode) {
+        if (status != GameSession.Status.IN_PROGRESS) {
+            return GameSession.SubmitResult.GAME_OVER;
+        }
+        // Once per guess, not per board
+        if (guessCode == WordCodec.INVALID || !dictionary.containsCode(guessCode)) {
+            return GameSession.SubmitResult.INVALID_WORD;
+        }
+
+        int row = rowCount++;
+        guessCodes[row] = guessCode;
+        GuessScorer.scoreAll(guessCode, openAnswers, openCount, openFeedbacks);
+        System.arraycopy(openBoards, 0, scoredBoards, 0, openCount);
+        scoredCount = openCount;
+
+        // Compact the unsolved boards in place
+        int open = 0;
+        for (int i = 0; i < scoredCount; i++) {
+            int board = scoredBoards[i];
+            int feedback = openFeedbacks[i];
+            feedbacks[board * maxRows + row] = feedback;
+            mergeKeyStates(board, guessCode, feedback);
+            if (feedback == GuessScorer.ALL_CORRECT) {
+                solvedRows[board] = row;
+            } else {
+                openBoards[open] = board;
+                openAnswers[open] = answerCodes[board];
+                open++;
+            }
+        }
+        openCount = open;
+        mergeOpenKeyStates();
+
+        if (openCount == 0) {
+            status = GameSession.Status.WON;
+            return GameSession.SubmitResult.WON;
+        }
+        if (rowCount == maxRows) {
+            status = GameSession.Status.LOST;
+            return GameSession.SubmitResult.LOST;
+        }
+        return GameSession.SubmitResult.ACCEPTED;
+    }
+
+    private void mergeKeyStates(int board, int guessCode, int feedback) {
+        for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+            int key = board * LETTERS + WordCodec.letterAt(guessCode, i);
+            int state = GuessScorer.feedbackAt(feedback, i) + 1;
+            if (state > boardKeyStates[key]) {
+                boardKeyStates[key] = state;
+            }
+        }
+    }
+
+    // A key shows its best state over the boards still being played, so it only reads
+    // absent when it's absent from all of them
+    private void mergeOpenKeyStates() {
+        if (openCount == 0) {
+            return;
+        }
+        Arrays.fill(keyStates, GuessScorer.KEY_UNUSED);
+        for (int i = 0; i < openCount; i++) {
+            int offset = openBoards[i] * LETTERS;
+            for (int letter = 0; letter < LETTERS; letter++) {
+                keyStates[letter] = Math.max(keyStates[letter], boardKeyStates[offset + letter]);
+            }
+        }
+    }
+
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public GameSession.Status getStatus() {
+        return status;
+    }
+
+    public boolean isOver() {
+        return status == GameSession.Status.WON || status == GameSession.Status.LOST;
+    }
+
+    public int getBoardCount() {
+        return boards;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    // Number of submitted rows, which is also the index of the row being typed
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getAnswerCode(int board) {
+        return answerCodes[board];
+    }
+
+    public boolean isSolved(int board) {
+        return solvedRows[board] >= 0;
+    }
+
+    // Row the board was solved in, -1 while unsolved
+    public int getSolvedRow(int board) {
+        return solvedRows[board];
+    }
+
+    public int getGuessCode(int row) {
+        checkRow(row);
+        return guessCodes[row];
+    }
+
+    /**
+     * @return GuessScorer feedback of the row on board, the row must have been scored there,
+     * i.e. not be past the board's solved row
+     */
+    public int getFeedback(int board, int row) {
+        checkRow(row);
+        if (solvedRows[board] >= 0 && row > solvedRows[board]) {
+            throw new IndexOutOfBoundsException("Board " + board + " was solved in row " + solvedRows[board]);
+        }
+        return feedbacks[board * maxRows + row];
+    }
+
+    // Boards scored by the last submit, the only ones whose rows changed
+    public int getScoredBoardCount() {
+        return scoredCount;
+    }
+
+    public int getScoredBoard(int index) {
+        if (index < 0 || index >= scoredCount) {
+            throw new IndexOutOfBoundsException("Scored board " + index + " of " + scoredCount);
+        }
+        return scoredBoards[index];
+    }
+
+    // Merged over the unsolved boards, one of the GuessScorer.KEY_* states
+    public int getKeyState(int letter) {
+        return keyStates[letter];
+    }
+
+    // Saves the game, e.g. into a Bundle. Feedback isn't saved, it's scored again on restore.
+    public int[] saveState() {
+        int[] state = new int[STATE_HEADER + boards + rowCount];
+        state[0] = boards;
+        state[1] = rowCount;
+        System.arraycopy(answerCodes, 0, state, STATE_HEADER, boards);
+        System.arraycopy(guessCodes, 0, state, STATE_HEADER + boards, rowCount);
+        return state;
+    }
+
+    /**
+     * Restores a game saved with saveState by playing its rows again.
+     *
+     * @return false if the state doesn't fit this dictionary, board or row count, the session is left unchanged
+     */
+    public boolean restoreState(int[] state) {
+        if (state == null || state.length < STATE_HEADER || state[0] != boards) {
+            return false;
+        }
+        int savedRows = state[1];
+        if (savedRows < 0 || savedRows > maxRows || state.length != STATE_HEADER + boards + savedRows) {
+            return false;
+        }
+        for (int i = STATE_HEADER; i < state.length; i++) {
+            if (!dictionary.containsCode(state[i])) {
+                return false;
+            }
+        }
+
+        start(Arrays.copyOfRange(state, STATE_HEADER, STATE_HEADER + boards));
+        for (int row = 0; row < savedRows; row++) {
+            if (submitCode(state[STATE_HEADER + boards + row]) == GameSession.SubmitResult.GAME_OVER) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " hasn't been submitted");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.waquwex.wordgame.Game;
+
+// Picks answers as indices into the word list, each in O(1) without a shuffled copy of the list.
+// Both modes walk a seeded permutation (IndexPermutation) of the list and reshuffle after every
+// pass over it, so no word comes back before all the others have been picked.
+//
+// Daily: the word of a day depends only on the day and the list size, every install with the
+//        same word list gets the same word.
+// Endless: the position-th game of one install, seeded per install.
+public final class WordScheduler {
+    // Changing it changes every daily word
+    static final long DAILY_SEED = 0x5747_4441_494C_5931L;
+
+    private final int size;
+    private final long endlessSeed;
+    // Last used permutation per mode, a pass lasts size games
+    private IndexPermutation daily;
+    private long dailyPass = -1;
+    private IndexPermutation endless;
+    private long endlessPass = -1;
+
+    public WordScheduler(int size, long endlessSeed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.size = size;
+        this.endlessSeed = endlessSeed;
+    }
+
+    /**
+     * @param epochDay Days since 1970-01-01 of the player's local date
+     */
+    public int dailyIndex(long epochDay) {
+        long pass = Math.floorDiv(epochDay, size);
+        if (daily == null || pass != dailyPass) {
+            daily = new IndexPermutation(size, IndexPermutation.mix(DAILY_SEED ^ pass));
+            dailyPass = pass;
+        }
+        return daily.apply(Math.toIntExact(epochDay - pass * size));
+    }
+
+    /**
+     * @param position Games played in endless mode before this one, not negative
+     */
+    public int endlessIndex(long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("position must not be negative");
+        }
+        long pass = position / size;
+        if (endless == null || pass != endlessPass) {
+            endless = new IndexPermutation(size, IndexPermutation.mix(endlessSeed ^ pass));
+            endlessPass = pass;
+        }
+        return endless.apply((int) (position % size));
+    }
+}
@@ -0,0 +1,115 @@
+package com.waquwex.wordgame.Scoring;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+
+// Wordle feedback for a guess against an answer, computed on packed words (WordCodec).
+// Feedback is packed in base 3, position i contributes (ABSENT|PRESENT|CORRECT) * 3^i,
+// so every result fits in [0, FEEDBACK_COUNT). Nothing here allocates.
+//
+// Repeated letters follow the usual rules: greens are matched first, then each
+// remaining guess letter (left to right) takes one unmatched copy from the answer.
+// A letter guessed more often than it occurs in the answer is ABSENT for the extra copies.
+public final class GuessScorer {
+    public static final int ABSENT = 0;
+    public static final int PRESENT = 1;
+    public static final int CORRECT = 2;
+    public static final int FEEDBACK_COUNT = 243; // 3^5
+    public static final int ALL_CORRECT = FEEDBACK_COUNT - 1;
+
+    // Key states as stored in MainActivity.historyPoints, 0 means not guessed yet
+    public static final int KEY_UNUSED = 0;
+    public static final int KEY_ABSENT = 1;
+    public static final int KEY_PRESENT = 2;
+    public static final int KEY_CORRECT = 3;
+
+    private static final int[] POWERS_OF_3 = {1, 3, 9, 27, 81};
+    // Lowest bit of every packed letter
+    private static final int LETTER_LOW_BITS = 0b00001_00001_00001_00001_00001;
+
+    private GuessScorer() {
+    }
+
+    public static int score(int guessCode, int answerCode) {
+        int length = WordCodec.WORD_LENGTH;
+        int bits = WordCodec.BITS_PER_LETTER;
+        int mask = WordCodec.LETTER_MASK;
+
+        // Exact matches of all positions at once: the lowest bit of a letter of differs is
+        // set when any bit of that letter differs
+        int diff = guessCode ^ answerCode;
+        if (diff == 0) {
+            return ALL_CORRECT;
+        }
+        int differs = (diff | diff >>> 1 | diff >>> 2 | diff >>> 3 | diff >>> 4) & LETTER_LOW_BITS;
+
+        // Bit i set: answer letter i is already matched
+        int used = 0;
+        int feedback = 0;
+        for (int i = 0, shift = (length - 1) * bits; i < length; i++, shift -= bits) {
+            if ((differs & (1 << shift)) == 0) {
+                used |= 1 << i;
+                feedback += CORRECT * POWERS_OF_3[i];
+            }
+        }
+
+        int greens = used;
+        for (int i = 0, shift = (length - 1) * bits; i < length; i++, shift -= bits) {
+            if ((greens & (1 << i)) != 0) {
+                continue;
+            }
+            int letter = (guessCode >>> shift) & mask;
+            for (int j = 0, answerShift = (length - 1) * bits; j < length; j++, answerShift -= bits) {
+                if ((used & (1 << j)) == 0 && ((answerCode >>> answerShift) & mask) == letter) {
+                    used |= 1 << j;
+                    feedback += PRESENT * POWERS_OF_3[i];
+                    break;
+                }
+            }
+        }
+        return feedback;
+    }
+
+    /**
+     * Scores one guess against several answers, e.g. the unsolved boards of a multi-board game.
+     *
+     * @param feedbacks Receives the feedback against answerCodes[i] at i, for i < count
+     */
+    public static void scoreAll(int guessCode, int[] answerCodes, int count, int[] feedbacks) {
+        for (int i = 0; i < count; i++) {
+            feedbacks[i] = score(guessCode, answerCodes[i]);
+        }
+    }
+
+    /**
+     * Scores two five letter words given as characters, e.g. straight from an edit text buffer.
+     *
+     * @throws IllegalArgumentException If either word isn't five English letters
+     */
+    public static int score(CharSequence guess, CharSequence answer) {
+        int guessCode = WordCodec.pack(guess);
+        int answerCode = WordCodec.pack(answer);
+        if (guessCode == WordCodec.INVALID || answerCode == WordCodec.INVALID) {
+            throw new IllegalArgumentException("Guess and answer must be five English letters");
+        }
+        return score(guessCode, answerCode);
+    }
+
+    // ABSENT, PRESENT or CORRECT at given position
+    public static int feedbackAt(int feedback, int position) {
+        return (feedback / POWERS_OF_3[position]) % 3;
+    }
+
+    /**
+     * Merges a scored guess into per-letter key states (KEY_* values, indexed A = 0).
+     * A key never goes down, e.g. a letter that was CORRECT once stays CORRECT.
+     */
+    public static void mergeKeyStates(int guessCode, int feedback, int[] keyStates) {
+        for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+            int letter = WordCodec.letterAt(guessCode, i);
+            int state = feedbackAt(feedback, i) + 1;
+            if (state > keyStates[letter]) {
+                keyStates[letter] = state;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+
+// Precomputed bitsets over the dictionary (bit i = word at dictionary index i) that
+// CandidateSet combines to filter answers, built once per dictionary and shared:
+//   positionMask(p, l)     words with letter l at position p
+//   atLeastMask(l, k)      words containing letter l at least k times (1 <= k <= 5)
+public final class CandidateIndex {
+    private static final int LETTERS = 26;
+
+    private final WordDictionary dictionary;
+    private final int wordCount;
+    private final int blockCount;
+    private final long[][] positionMasks;
+    private final long[][] atLeastMasks;
+    // Returned for counts no word can reach
+    private final long[] emptyMask;
+
+    private CandidateIndex(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.wordCount = dictionary.size();
+        this.blockCount = (wordCount + 63) >>> 6;
+        this.positionMasks = new long[WordCodec.WORD_LENGTH * LETTERS][blockCount];
+        this.atLeastMasks = new long[WordCodec.WORD_LENGTH * LETTERS][blockCount];
+        this.emptyMask = new long[blockCount];
+    }
+
+    public static CandidateIndex build(WordDictionary dictionary) {
+        CandidateIndex index = new CandidateIndex(dictionary);
+        int[] letterCounts = new int[LETTERS];
+        for (int word = 0; word < index.wordCount; word++) {
+            int code = dictionary.codeAt(word);
+            int block = word >>> 6;
+            long bit = 1L << word;
+            for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+                int letter = WordCodec.letterAt(code, position);
+                index.positionMasks[position * LETTERS + letter][block] |= bit;
+                int count = ++letterCounts[letter];
+                index.atLeastMasks[(count - 1) * LETTERS + letter][block] |= bit;
+            }
+            for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+                letterCounts[WordCodec.letterAt(code, position)] = 0;
+            }
+        }
+        return index;
+    }
+
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    // Number of longs in every mask
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    long[] positionMask(int position, int letter) {
+        return positionMasks[position * LETTERS + letter];
+    }
+
+    long[] atLeastMask(int letter, int count) {
+        if (count > WordCodec.WORD_LENGTH) {
+            return emptyMask;
+        }
+        return atLeastMasks[(count - 1) * LETTERS + letter];
+    }
+}
@@ -0,0 +1,167 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.util.Arrays;
+
+// Answers that are still possible after the rows played so far, one bit per dictionary word.
+// Each scored row narrows the set with a single pass that ANDs the matching CandidateIndex
+// masks together, earlier rows are never looked at again.
+public final class CandidateSet {
+    // At most one mask per position plus one per distinct letter
+    private static final int MAX_MASKS = 2 * WordCodec.WORD_LENGTH;
+
+    private final CandidateIndex index;
+    private final long[] bits;
+    private int count;
+    // Scratch lists for apply(), kept to avoid allocating per row
+    private final long[][] required = new long[MAX_MASKS][];
+    private final long[][] excluded = new long[MAX_MASKS][];
+
+    public CandidateSet(CandidateIndex index) {
+        this.index = index;
+        this.bits = new long[index.getBlockCount()];
+        reset();
+    }
+
+    // Every word is a candidate again
+    public void reset() {
+        Arrays.fill(bits, -1L);
+        int tail = index.getWordCount() & 63;
+        if (tail != 0) {
+            bits[bits.length - 1] = (1L << tail) - 1;
+        }
+        count = index.getWordCount();
+    }
+
+    /**
+     * Keeps only the words that would have produced feedback for guessCode.
+     *
+     * @param guessCode Packed guess (WordCodec)
+     * @param feedback  GuessScorer feedback the guess received
+     */
+    public void apply(int guessCode, int feedback) {
+        int requiredCount = 0;
+        int excludedCount = 0;
+
+        for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+            int letter = WordCodec.letterAt(guessCode, position);
+            if (GuessScorer.feedbackAt(feedback, position) == GuessScorer.CORRECT) {
+                required[requiredCount++] = index.positionMask(position, letter);
+            } else {
+                excluded[excludedCount++] = index.positionMask(position, letter);
+            }
+        }
+
+        // Letter counts: n green/yellow copies means at least n, a gray copy means exactly n
+        for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+            int letter = WordCodec.letterAt(guessCode, position);
+            boolean seenBefore = false;
+            for (int previous = 0; previous < position; previous++) {
+                if (WordCodec.letterAt(guessCode, previous) == letter) {
+                    seenBefore = true;
+                    break;
+                }
+            }
+            if (seenBefore) {
+                continue;
+            }
+
+            int matched = 0;
+            boolean absent = false;
+            for (int other = position; other < WordCodec.WORD_LENGTH; other++) {
+                if (WordCodec.letterAt(guessCode, other) == letter) {
+                    if (GuessScorer.feedbackAt(feedback, other) == GuessScorer.ABSENT) {
+                        absent = true;
+                    } else {
+                        matched++;
+                    }
+                }
+            }
+            if (matched > 0) {
+                required[requiredCount++] = index.atLeastMask(letter, matched);
+            }
+            if (absent) {
+                excluded[excludedCount++] = index.atLeastMask(letter, matched + 1);
+            }
+        }
+
+        int remaining = 0;
+        for (int block = 0; block < bits.length; block++) {
+            long value = bits[block];
+            if (value == 0) {
+                continue;
+            }
+            for (int i = 0; i < requiredCount; i++) {
+                value &= required[i][block];
+            }
+            for (int i = 0; i < excludedCount; i++) {
+                value &= ~excluded[i][block];
+            }
+            bits[block] = value;
+            remaining += Long.bitCount(value);
+        }
+        count = remaining;
+
+        Arrays.fill(required, 0, requiredCount, null);
+        Arrays.fill(excluded, 0, excludedCount, null);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(int wordIndex) {
+        return (bits[wordIndex >>> 6] & (1L << wordIndex)) != 0;
+    }
+
+    // Next candidate index at or after fromIndex, -1 if there is none
+    public int nextCandidate(int fromIndex) {
+        int block = fromIndex >>> 6;
+        if (block >= bits.length) {
+            return -1;
+        }
+        long value = bits[block] & (-1L << fromIndex);
+        while (true) {
+            if (value != 0) {
+                return (block << 6) + Long.numberOfTrailingZeros(value);
+            }
+            if (++block == bits.length) {
+                return -1;
+            }
+            value = bits[block];
+        }
+    }
+
+    // Independent copy, e.g. to hand the current state to a background solver
+    public CandidateSet copy() {
+        CandidateSet copy = new CandidateSet(index);
+        System.arraycopy(bits, 0, copy.bits, 0, bits.length);
+        copy.count = count;
+        return copy;
+    }
+
+    // Copy of the bits, e.g. for onSaveInstanceState
+    public long[] toLongArray() {
+        return bits.clone();
+    }
+
+    /**
+     * Restores bits saved with toLongArray.
+     *
+     * @return false if the saved bits don't belong to a dictionary of this size, the set is left unchanged
+     */
+    public boolean restore(long[] saved) {
+        if (saved == null || saved.length != bits.length) {
+            return false;
+        }
+        System.arraycopy(saved, 0, bits, 0, bits.length);
+        int restored = 0;
+        for (long value : bits) {
+            restored += Long.bitCount(value);
+        }
+        count = restored;
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Picks the guess that splits the remaining answers best: for each guess the answers are
+// bucketed by the feedback they would give and guesses are ranked by the entropy of that
+// partition (expected information in bits). Guesses are evaluated in parallel on the common
+// fork/join pool and evaluation stops at the time budget, returning the best guess seen so far.
+// Remaining candidates are evaluated first so even a cut short search suggests a possible answer.
+public final class EntropySolver {
+    // Guesses per fork/join leaf task
+    private static final int GUESSES_PER_TASK = 16;
+
+    public static final class Result {
+        // Dictionary index of the suggested guess, -1 when there are no candidates left
+        public final int guessIndex;
+        // Expected information of the guess in bits
+        public final double expectedInformation;
+        public final int evaluatedGuesses;
+        // false if the time budget ran out before every guess was evaluated
+        public final boolean complete;
+
+        Result(int guessIndex, double expectedInformation, int evaluatedGuesses, boolean complete) {
+            this.guessIndex = guessIndex;
+            this.expectedInformation = expectedInformation;
+            this.evaluatedGuesses = evaluatedGuesses;
+            this.complete = complete;
+        }
+    }
+
+    private final WordDictionary dictionary;
+    private final FeedbackTable feedbackTable;
+
+    /**
+     * @param dictionary    Guesses and answers
+     * @param feedbackTable Table built for the same dictionary or null to score on the fly
+     */
+    public EntropySolver(WordDictionary dictionary, FeedbackTable feedbackTable) {
+        if (feedbackTable != null && feedbackTable.size() != dictionary.size()) {
+            throw new IllegalArgumentException("Feedback table doesn't belong to the dictionary");
+        }
+        this.dictionary = dictionary;
+        this.feedbackTable = feedbackTable;
+    }
+
+    /**
+     * Finds the best next guess.
+     *
+     * @param candidates  Answers that are still possible, must not change while solving
+     * @param budgetNanos Time after which evaluation stops, Long.MAX_VALUE for no limit
+     */
+    public Result solve(CandidateSet candidates, long budgetNanos) {
+        return solve(candidates, false, budgetNanos);
+    }
+
+    /**
+     * Finds the best next guess.
+     *
+     * @param candidatesOnly Only guess possible answers, e.g. in hard mode where they are the
+     *                       guesses known to use every revealed hint
+     */
+    public Result solve(CandidateSet candidates, boolean candidatesOnly, long budgetNanos) {
+        long start = System.nanoTime();
+
+        int answerCount = candidates.size();
+        if (answerCount == 0) {
+            return new Result(-1, 0, 0, true);
+        }
+        int[] answers = new int[answerCount];
+        for (int i = 0, word = candidates.nextCandidate(0); word >= 0; word = candidates.nextCandidate(word + 1)) {
+            answers[i++] = word;
+        }
+        // With one or two answers left nothing beats guessing one of them
+        if (answerCount <= 2) {
+            return new Result(answers[0], answerCount == 2 ? 1 : 0, 0, true);
+        }
+
+        int[] codes = null;
+        if (feedbackTable == null) {
+            codes = new int[dictionary.size()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = dictionary.codeAt(i);
+            }
+        }
+
+        // Candidates first, then every other word
+        int[] guesses = new int[candidatesOnly ? answerCount : dictionary.size()];
+        System.arraycopy(answers, 0, guesses, 0, answerCount);
+        for (int word = 0, next = answerCount; next < guesses.length; word++) {
+            if (!candidates.contains(word)) {
+                guesses[next++] = word;
+            }
+        }
+
+        EvaluateTask task = new EvaluateTask(this, codes, candidates, guesses, answers,
+                start, budgetNanos, 0, guesses.length);
+        Best best = ForkJoinPool.commonPool().invoke(task);
+        if (best.guessIndex < 0) {
+            // Budget ran out before anything was evaluated
+            return new Result(answers[0], 0, 0, false);
+        }
+        return new Result(best.guessIndex, best.information, best.evaluated, best.evaluated == guesses.length);
+    }
+
+    private int feedback(int[] codes, int guess, int answer) {
+        if (feedbackTable != null) {
+            return feedbackTable.feedback(guess, answer);
+        }
+        return GuessScorer.score(codes[guess], codes[answer]);
+    }
+
+    // Best guess of a range of the guess order
+    private static final class Best {
+        int guessIndex = -1;
+        double information = -1;
+        boolean isCandidate;
+        int evaluated;
+
+        // Higher information wins, ties go to possible answers and then to the lower index
+        void merge(int guessIndex, double information, boolean isCandidate) {
+            boolean better = information > this.information + 1e-12
+                    || (Math.abs(information - this.information) <= 1e-12
+                    && ((isCandidate && !this.isCandidate)
+                    || (isCandidate == this.isCandidate && guessIndex < this.guessIndex)));
+            if (this.guessIndex < 0 || better) {
+                this.guessIndex = guessIndex;
+                this.information = information;
+                this.isCandidate = isCandidate;
+            }
+        }
+    }
+
+    private static final class EvaluateTask extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+
+        private final EntropySolver solver;
+        private final int[] codes;
+        private final CandidateSet candidates;
+        private final int[] guesses;
+        private final int[] answers;
+        private final long start;
+        private final long budgetNanos;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(EntropySolver solver, int[] codes, CandidateSet candidates, int[] guesses, int[] answers,
+                     long start, long budgetNanos, int from, int to) {
+            this.solver = solver;
+            this.codes = codes;
+            this.candidates = candidates;
+            this.guesses = guesses;
+            this.answers = answers;
+            this.start = start;
+            this.budgetNanos = budgetNanos;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from > GUESSES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                EvaluateTask right = new EvaluateTask(solver, codes, candidates, guesses, answers,
+                        start, budgetNanos, middle, to);
+                right.fork();
+                Best best = new EvaluateTask(solver, codes, candidates, guesses, answers,
+                        start, budgetNanos, from, middle).compute();
+                Best other = right.join();
+                if (other.guessIndex >= 0) {
+                    best.merge(other.guessIndex, other.information, other.isCandidate);
+                }
+                best.evaluated += other.evaluated;
+                return best;
+            }
+
+            Best best = new Best();
+            int[] buckets = new int[GuessScorer.FEEDBACK_COUNT];
+            double answerCount = answers.length;
+            double logAnswerCount = Math.log(answerCount);
+            for (int i = from; i < to; i++) {
+                if (System.nanoTime() - start > budgetNanos) {
+                    break;
+                }
+                int guess = guesses[i];
+                for (int answer : answers) {
+                    buckets[solver.feedback(codes, guess, answer)]++;
+                }
+                // H = log(n) - sum(c * log(c)) / n
+                double sum = 0;
+                for (int feedback = 0; feedback < buckets.length; feedback++) {
+                    int count = buckets[feedback];
+                    if (count > 1) {
+                        sum += count * Math.log(count);
+                    }
+                    buckets[feedback] = 0;
+                }
+                double information = (logAnswerCount - sum / answerCount) / Math.log(2);
+                best.merge(guess, information, candidates.contains(guess));
+                best.evaluated++;
+            }
+            return best;
+        }
+    }
+}
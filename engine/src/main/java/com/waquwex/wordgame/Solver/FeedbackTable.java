@@ -0,0 +1,144 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Feedback (GuessScorer code) for every guess/answer pair of a dictionary, one byte each,
+// row major by guess index. About 5.3 MB for the bundled 2315 word list, so hints become
+// table lookups instead of rescoring. Rows are built in parallel on the common fork/join pool.
+public final class FeedbackTable {
+    private static final int CACHE_MAGIC = 0x57464254; // 'WFBT'
+    private static final int CACHE_VERSION = 1;
+    // Rows per fork/join leaf task
+    private static final int ROWS_PER_TASK = 32;
+
+    private final int size;
+    private final byte[] table;
+
+    private FeedbackTable(int size, byte[] table) {
+        this.size = size;
+        this.table = table;
+    }
+
+    public static FeedbackTable build(WordDictionary dictionary) {
+        int size = dictionary.size();
+        if ((long) size * size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Dictionary too large for a feedback table: " + size);
+        }
+        int[] codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        byte[] table = new byte[size * size];
+        ForkJoinPool.commonPool().invoke(new BuildRowsTask(codes, table, 0, size));
+        return new FeedbackTable(size, table);
+    }
+
+    /**
+     * Reads a table written by writeCache.
+     *
+     * @return null if there is no cache or it was built for another dictionary
+     * @throws IOException If the cache exists but can't be read, e.g. it was cut short
+     */
+    public static FeedbackTable readCache(File cacheFile, WordDictionary dictionary) throws IOException {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        return read(cacheFile, dictionary.size(), fingerprint(dictionary));
+    }
+
+    // Written next to the target first so a killed process never leaves a half written cache
+    public void writeCache(File cacheFile, WordDictionary dictionary) throws IOException {
+        write(cacheFile, fingerprint(dictionary));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Feedback code for guess and answer given as dictionary indexes
+    public int feedback(int guessIndex, int answerIndex) {
+        return table[guessIndex * size + answerIndex] & 0xFF;
+    }
+
+    private static FeedbackTable read(File file, int size, int fingerprint) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION
+                    || in.readInt() != size || in.readInt() != fingerprint) {
+                return null;
+            }
+            byte[] table = new byte[size * size];
+            in.readFully(table);
+            return new FeedbackTable(size, table);
+        }
+    }
+
+    private void write(File file, int fingerprint) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(CACHE_MAGIC);
+            out.writeInt(CACHE_VERSION);
+            out.writeInt(size);
+            out.writeInt(fingerprint);
+            out.write(table);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Couldn't move feedback table cache to " + file);
+        }
+    }
+
+    // FNV-1a over the codes, enough to tell word lists apart
+    private static int fingerprint(WordDictionary dictionary) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < dictionary.size(); i++) {
+            hash = (hash ^ dictionary.codeAt(i)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    private static final class BuildRowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] codes;
+        private final byte[] table;
+        private final int fromRow;
+        private final int toRow;
+
+        BuildRowsTask(int[] codes, byte[] table, int fromRow, int toRow) {
+            this.codes = codes;
+            this.table = table;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > ROWS_PER_TASK) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new BuildRowsTask(codes, table, fromRow, middle),
+                        new BuildRowsTask(codes, table, middle, toRow));
+                return;
+            }
+            int size = codes.length;
+            for (int guess = fromRow; guess < toRow; guess++) {
+                int guessCode = codes[guess];
+                int offset = guess * size;
+                for (int answer = 0; answer < size; answer++) {
+                    table[offset + answer] = (byte) GuessScorer.score(guessCode, codes[answer]);
+                }
+            }
+        }
+    }
+}
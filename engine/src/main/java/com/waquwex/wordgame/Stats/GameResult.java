@@ -0,0 +1,28 @@
+package com.waquwex.wordgame.Stats;
+
+import com.waquwex.wordgame.Game.GameSession;
+
+// One finished game as it is logged by StatsStore
+public final class GameResult {
+    public final int answerCode;
+    // Rows used, including the winning one
+    public final int rows;
+    public final boolean won;
+    public final long timeMillis;
+
+    public GameResult(int answerCode, int rows, boolean won, long timeMillis) {
+        this.answerCode = answerCode;
+        this.rows = rows;
+        this.won = won;
+        this.timeMillis = timeMillis;
+    }
+
+    // Result of a session that is over
+    public static GameResult of(GameSession session, long timeMillis) {
+        if (!session.isOver()) {
+            throw new IllegalStateException("Game isn't over");
+        }
+        return new GameResult(session.getAnswerCode(), session.getRowCount(),
+                session.getStatus() == GameSession.Status.WON, timeMillis);
+    }
+}
@@ -0,0 +1,196 @@
+package com.waquwex.wordgame.Stats;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+// Aggregates over every finished game: totals, streaks, guess distribution and a summary per
+// answer. Kept up to date one result at a time, so reading any of them never scans the games.
+// Not thread safe, StatsStore's writer owns one and readers get a copy.
+public final class PlayerStats {
+    // Per answer summary
+    public static final class WordHistory {
+        private int played;
+        private int won;
+        // Fewest rows it was solved in, 0 if never solved
+        private int bestRows;
+        private long lastPlayedMillis;
+
+        public int getPlayed() {
+            return played;
+        }
+
+        public int getWon() {
+            return won;
+        }
+
+        public int getBestRows() {
+            return bestRows;
+        }
+
+        public long getLastPlayedMillis() {
+            return lastPlayedMillis;
+        }
+
+        private WordHistory copy() {
+            WordHistory copy = new WordHistory();
+            copy.played = played;
+            copy.won = won;
+            copy.bestRows = bestRows;
+            copy.lastPlayedMillis = lastPlayedMillis;
+            return copy;
+        }
+    }
+
+    private final int maxRows;
+    private long played;
+    private long won;
+    private int currentStreak;
+    private int maxStreak;
+    // Games won in 1 to maxRows rows
+    private final long[] solvedIn;
+    private final HashMap<Integer, WordHistory> words = new HashMap<>();
+
+    public PlayerStats(int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be positive");
+        }
+        this.maxRows = maxRows;
+        this.solvedIn = new long[maxRows];
+    }
+
+    public void record(GameResult result) {
+        played++;
+        if (result.won) {
+            won++;
+            currentStreak++;
+            maxStreak = Math.max(maxStreak, currentStreak);
+            if (result.rows >= 1 && result.rows <= maxRows) {
+                solvedIn[result.rows - 1]++;
+            }
+        } else {
+            currentStreak = 0;
+        }
+
+        WordHistory history = words.get(result.answerCode);
+        if (history == null) {
+            history = new WordHistory();
+            words.put(result.answerCode, history);
+        }
+        history.played++;
+        if (result.won) {
+            history.won++;
+            if (history.bestRows == 0 || result.rows < history.bestRows) {
+                history.bestRows = result.rows;
+            }
+        }
+        history.lastPlayedMillis = Math.max(history.lastPlayedMillis, result.timeMillis);
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getPlayed() {
+        return played;
+    }
+
+    public long getWon() {
+        return won;
+    }
+
+    public long getLost() {
+        return played - won;
+    }
+
+    // 0 to 1, 0 before the first game
+    public double getWinRate() {
+        return played == 0 ? 0 : (double) won / played;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public int getMaxStreak() {
+        return maxStreak;
+    }
+
+    // Games won in exactly rows rows, 1 to maxRows
+    public long getSolvedIn(int rows) {
+        return solvedIn[rows - 1];
+    }
+
+    // Null if answerCode has never been the answer
+    public WordHistory getHistory(int answerCode) {
+        return words.get(answerCode);
+    }
+
+    // Number of different answers played
+    public int getWordCount() {
+        return words.size();
+    }
+
+    public PlayerStats copy() {
+        PlayerStats copy = new PlayerStats(maxRows);
+        copy.played = played;
+        copy.won = won;
+        copy.currentStreak = currentStreak;
+        copy.maxStreak = maxStreak;
+        System.arraycopy(solvedIn, 0, copy.solvedIn, 0, maxRows);
+        for (HashMap.Entry<Integer, WordHistory> entry : words.entrySet()) {
+            copy.words.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(maxRows);
+        out.writeLong(played);
+        out.writeLong(won);
+        out.writeInt(currentStreak);
+        out.writeInt(maxStreak);
+        for (long count : solvedIn) {
+            out.writeLong(count);
+        }
+        out.writeInt(words.size());
+        for (HashMap.Entry<Integer, WordHistory> entry : words.entrySet()) {
+            WordHistory history = entry.getValue();
+            out.writeInt(entry.getKey());
+            out.writeInt(history.played);
+            out.writeInt(history.won);
+            out.writeByte(history.bestRows);
+            out.writeLong(history.lastPlayedMillis);
+        }
+    }
+
+    static PlayerStats read(DataInputStream in) throws IOException {
+        int maxRows = in.readInt();
+        if (maxRows <= 0 || maxRows > 0xFF) {
+            throw new IOException("Invalid row count " + maxRows);
+        }
+        PlayerStats stats = new PlayerStats(maxRows);
+        stats.played = in.readLong();
+        stats.won = in.readLong();
+        stats.currentStreak = in.readInt();
+        stats.maxStreak = in.readInt();
+        for (int i = 0; i < maxRows; i++) {
+            stats.solvedIn[i] = in.readLong();
+        }
+        int wordCount = in.readInt();
+        if (wordCount < 0) {
+            throw new IOException("Invalid word count " + wordCount);
+        }
+        for (int i = 0; i < wordCount; i++) {
+            int answerCode = in.readInt();
+            WordHistory history = new WordHistory();
+            history.played = in.readInt();
+            history.won = in.readInt();
+            history.bestRows = in.readUnsignedByte();
+            history.lastPlayedMillis = in.readLong();
+            stats.words.put(answerCode, history);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,216 @@
+package com.waquwex.wordgame.Stats;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Finished games are appended to a log, and every COMPACT_RECORDS records the aggregates
+// (PlayerStats) are written to a snapshot and the log starts over, so loading reads one
+// snapshot and at most COMPACT_RECORDS records. Both files carry a generation: compaction
+// writes the snapshot of generation g + 1 before it resets the log to g + 1, and a log older
+// than the snapshot is already included in it. All values are big endian.
+//
+// Log:       int magic 'WGSL', byte version, int generation, then per game:
+//            int answer, byte rows, byte won, long time millis, byte check (low byte of CRC32)
+// Snapshot:  int magic 'WGSS', byte version, int generation, PlayerStats, int CRC32 of the rest
+//
+// A record cut short by a killed process is dropped (and cut from the log) on load.
+// Not thread safe, meant to be used by one writer thread.
+public final class StatsStore {
+    static final int LOG_MAGIC = 0x5747534C;
+    static final int SNAPSHOT_MAGIC = 0x57475353;
+    static final int FORMAT_VERSION = 1;
+    static final int LOG_HEADER_SIZE = 9;
+    static final int RECORD_SIZE = 15;
+    // Records appended before the log is compacted into the snapshot
+    static final int COMPACT_RECORDS = 256;
+
+    private final File logFile;
+    private final File snapshotFile;
+    private final int maxRows;
+    private int generation;
+    private int logRecords;
+
+    public StatsStore(File logFile, File snapshotFile, int maxRows) {
+        this.logFile = logFile;
+        this.snapshotFile = snapshotFile;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Reads the snapshot and the games logged after it. Missing or unreadable files count as
+     * no games, a snapshot for another row count is dropped.
+     */
+    public PlayerStats load() throws IOException {
+        PlayerStats stats = readSnapshot();
+        if (stats == null) {
+            stats = new PlayerStats(maxRows);
+            generation = 0;
+        }
+
+        byte[] log = logFile.exists() ? readFile(logFile) : new byte[0];
+        ByteBuffer in = ByteBuffer.wrap(log);
+        if (log.length < LOG_HEADER_SIZE || in.getInt() != LOG_MAGIC || in.get() != FORMAT_VERSION
+                || in.getInt() < generation) {
+            resetLog();
+            return stats;
+        }
+        // Newer than the snapshot means the snapshot was lost, what's left is still counted
+        generation = in.getInt(LOG_HEADER_SIZE - 4);
+
+        logRecords = 0;
+        byte[] record = new byte[RECORD_SIZE];
+        while (in.remaining() >= RECORD_SIZE) {
+            in.get(record);
+            if (record[RECORD_SIZE - 1] != check(record, RECORD_SIZE - 1)) {
+                break;
+            }
+            stats.record(decode(record));
+            logRecords++;
+        }
+        long validLength = LOG_HEADER_SIZE + (long) logRecords * RECORD_SIZE;
+        if (validLength != log.length) {
+            try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+                file.setLength(validLength);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Adds results to stats and logs them with one write, compacting when the log is long enough.
+     *
+     * @param stats Aggregates returned by load, updated in place even if writing fails
+     */
+    public void append(List<GameResult> results, PlayerStats stats) throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+        ByteBuffer records = ByteBuffer.allocate(results.size() * RECORD_SIZE);
+        for (GameResult result : results) {
+            stats.record(result);
+            encode(result, records);
+        }
+        try (FileOutputStream out = new FileOutputStream(logFile, true)) {
+            out.write(records.array());
+            out.getFD().sync();
+        }
+        logRecords += results.size();
+        if (logRecords >= COMPACT_RECORDS) {
+            compact(stats);
+        }
+    }
+
+    // Writes stats as the snapshot of the next generation and starts an empty log for it
+    public void compact(PlayerStats stats) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(SNAPSHOT_MAGIC);
+        data.writeByte(FORMAT_VERSION);
+        data.writeInt(generation + 1);
+        stats.write(data);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeInt((int) crc.getValue());
+        writeAtomically(snapshotFile, bytes.toByteArray());
+
+        generation++;
+        resetLog();
+    }
+
+    private PlayerStats readSnapshot() throws IOException {
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+        byte[] bytes = readFile(snapshotFile);
+        if (bytes.length < 4) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(bytes).getInt(bytes.length - 4)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            int snapshotGeneration = in.readInt();
+            PlayerStats stats = PlayerStats.read(in);
+            if (stats.getMaxRows() != maxRows) {
+                return null;
+            }
+            generation = snapshotGeneration;
+            return stats;
+        }
+    }
+
+    private void resetLog() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        header.putInt(LOG_MAGIC);
+        header.put((byte) FORMAT_VERSION);
+        header.putInt(generation);
+        writeAtomically(logFile, header.array());
+        logRecords = 0;
+    }
+
+    // java.nio.file needs API 26 on Android
+    private static byte[] readFile(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            byte[] bytes = new byte[(int) file.length()];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    // Written next to the target first so a killed process never leaves a half written file
+    private static void writeAtomically(File file, byte[] data) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            buffered.write(data);
+            buffered.flush();
+            out.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Couldn't move " + temp + " to " + file);
+        }
+    }
+
+    private static void encode(GameResult result, ByteBuffer out) {
+        int start = out.position();
+        out.putInt(result.answerCode);
+        out.put((byte) result.rows);
+        out.put((byte) (result.won ? 1 : 0));
+        out.putLong(result.timeMillis);
+        byte[] array = out.array();
+        CRC32 crc = new CRC32();
+        crc.update(array, start, RECORD_SIZE - 1);
+        out.put((byte) crc.getValue());
+    }
+
+    private static GameResult decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        int answerCode = in.getInt();
+        int rows = in.get() & 0xFF;
+        boolean won = in.get() != 0;
+        return new GameResult(answerCode, rows, won, in.getLong());
+    }
+
+    private static byte check(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (byte) crc.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.waquwex.wordgame.Dictionary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class WordDictionaryTest {
+    @Test
+    public void pack_roundTripsAndIgnoresCase() {
+        int code = WordCodec.pack("Crane");
+        assertEquals(code, WordCodec.pack("CRANE"));
+        assertEquals("CRANE", WordCodec.unpack(code));
+        assertEquals('R' - 'A', WordCodec.letterAt(code, 1));
+    }
+
+    @Test
+    public void pack_rejectsInvalidWords() {
+        assertEquals(WordCodec.INVALID, WordCodec.pack("CRAN"));
+        assertEquals(WordCodec.INVALID, WordCodec.pack("CRANES"));
+        assertEquals(WordCodec.INVALID, WordCodec.pack("CR4NE"));
+        assertEquals(WordCodec.INVALID, WordCodec.pack("\u00c7RANE"));
+        assertEquals(WordCodec.INVALID, WordCodec.pack(null));
+    }
+
+    @Test
+    public void codes_sortAlphabetically() {
+        assertTrue(WordCodec.pack("AAAAZ") < WordCodec.pack("AAABA"));
+        assertTrue(WordCodec.pack("YZZZZ") < WordCodec.pack("ZAAAA"));
+    }
+
+    @Test
+    public void contains_findsOnlyListedWords() {
+        WordDictionary dictionary = WordDictionary.fromWords(
+                Arrays.asList("crane", "slate", "Crane", "toolong", "abc", "zonal"));
+
+        assertEquals(3, dictionary.size());
+        assertTrue(dictionary.contains("CRANE"));
+        assertTrue(dictionary.contains(new StringBuilder("slate")));
+        assertTrue(dictionary.contains("ZONAL"));
+        assertFalse(dictionary.contains("CRATE"));
+        assertFalse(dictionary.contains("ABC"));
+        assertEquals("SLATE", dictionary.wordAt(1));
+    }
+}
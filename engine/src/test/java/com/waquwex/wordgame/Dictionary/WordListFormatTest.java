@@ -0,0 +1,47 @@
+package com.waquwex.wordgame.Dictionary;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class WordListFormatTest {
+    private static byte[] compile(String... words) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WordListFormat.write(WordDictionary.fromWords(Arrays.asList(words)), out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void read_returnsWrittenWords() throws IOException {
+        byte[] bytes = compile("zonal", "crane", "slate");
+        assertEquals(WordListFormat.HEADER_SIZE + 3 * 4, bytes.length);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        WordDictionary dictionary = WordListFormat.read(direct);
+
+        assertEquals(3, dictionary.size());
+        assertEquals("CRANE", dictionary.wordAt(0));
+        assertTrue(dictionary.contains("SLATE"));
+        assertFalse(dictionary.contains("CRATE"));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsCorruptCodes() throws IOException {
+        byte[] bytes = compile("crane", "slate");
+        bytes[bytes.length - 1] ^= 1;
+        WordListFormat.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherVersions() throws IOException {
+        byte[] bytes = compile("crane");
+        bytes[7] = (byte) (WordListFormat.FORMAT_VERSION + 1);
+        WordListFormat.read(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,140 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameSessionTest {
+    private static final WordDictionary DICTIONARY = WordDictionary.fromWords(Arrays.asList(
+            "SLATE", "STAIR", "CRANE", "THOSE", "EERIE", "HOTEL", "LEVEL", "ABBEY", "KEBAB"));
+
+    private static GameSession newSession() {
+        return new GameSession(DICTIONARY, CandidateIndex.build(DICTIONARY));
+    }
+
+    @Test
+    public void submit_winsOnTheAnswer() {
+        GameSession session = newSession();
+        session.start(WordCodec.pack("STAIR"));
+
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("SLATE"));
+        assertEquals(GuessScorer.score("SLATE", "STAIR"), session.getFeedback(0));
+        assertEquals(GameSession.SubmitResult.WON, session.submit("stair"));
+        assertEquals(GameSession.Status.WON, session.getStatus());
+        assertEquals(2, session.getRowCount());
+        assertEquals(GameSession.SubmitResult.GAME_OVER, session.submit("CRANE"));
+        assertEquals(2, session.getRowCount());
+    }
+
+    @Test
+    public void submit_losesAfterTheLastRow() {
+        GameSession session = new GameSession(DICTIONARY, null, 2);
+        session.start(WordCodec.pack("HOTEL"));
+
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("LEVEL"));
+        assertEquals(GameSession.SubmitResult.LOST, session.submit("CRANE"));
+        assertTrue(session.isOver());
+        assertNull(session.getCandidates());
+    }
+
+    @Test
+    public void submit_rejectsUnknownWordsWithoutUsingARow() {
+        GameSession session = newSession();
+        assertEquals(GameSession.SubmitResult.GAME_OVER, session.submit("SLATE"));
+        session.start(WordCodec.pack("CRANE"));
+
+        assertEquals(GameSession.SubmitResult.INVALID_WORD, session.submit("ZZZZZ"));
+        assertEquals(GameSession.SubmitResult.INVALID_WORD, session.submit("SLAT"));
+        assertEquals(GameSession.SubmitResult.INVALID_WORD, session.submit("SL4TE"));
+        assertEquals(0, session.getRowCount());
+        assertEquals(GameSession.Status.IN_PROGRESS, session.getStatus());
+    }
+
+    @Test
+    public void submit_tracksKeyStatesAndCandidates() {
+        GameSession session = newSession();
+        session.start(WordCodec.pack("STAIR"));
+        session.submit("SLATE");
+
+        assertEquals(GuessScorer.KEY_CORRECT, session.getKeyState('S' - 'A'));
+        assertEquals(GuessScorer.KEY_ABSENT, session.getKeyState('L' - 'A'));
+        assertEquals(GuessScorer.KEY_PRESENT, session.getKeyState('T' - 'A'));
+        assertEquals(GuessScorer.KEY_UNUSED, session.getKeyState('R' - 'A'));
+        assertEquals(1, session.getCandidates().size());
+        assertTrue(session.getCandidates().contains(DICTIONARY.indexOf(WordCodec.pack("STAIR"))));
+
+        session.start(WordCodec.pack("CRANE"));
+        assertEquals(GuessScorer.KEY_UNUSED, session.getKeyState('S' - 'A'));
+        assertEquals(DICTIONARY.size(), session.getCandidates().size());
+    }
+
+    @Test
+    public void restoreState_bringsBackTheGame() {
+        GameSession session = newSession();
+        session.start(WordCodec.pack("KEBAB"));
+        session.submit("ABBEY");
+        session.submit("LEVEL");
+
+        for (long[] candidateBits : new long[][]{session.getCandidates().toLongArray(), null}) {
+            GameSession restored = newSession();
+            assertTrue(restored.restoreState(session.saveState(), candidateBits));
+            assertEquals(GameSession.Status.IN_PROGRESS, restored.getStatus());
+            assertEquals(session.getAnswerCode(), restored.getAnswerCode());
+            assertEquals(2, restored.getRowCount());
+            assertEquals(session.getGuessCode(1), restored.getGuessCode(1));
+            assertEquals(session.getFeedback(1), restored.getFeedback(1));
+            assertEquals(session.getCandidates().size(), restored.getCandidates().size());
+            for (int letter = 0; letter < 26; letter++) {
+                assertEquals(session.getKeyState(letter), restored.getKeyState(letter));
+            }
+        }
+
+        session.submit("KEBAB");
+        GameSession restored = newSession();
+        assertTrue(restored.restoreState(session.saveState(), null));
+        assertEquals(GameSession.Status.WON, restored.getStatus());
+    }
+
+    @Test
+    public void hardMode_rejectsGuessesMissingAHint() {
+        GameSession session = newSession();
+        session.setHardMode(true);
+        session.start(WordCodec.pack("HOTEL"));
+
+        // L yellow, E yellow
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("LEVEL"));
+        assertEquals(GameSession.SubmitResult.MISSES_HINT, session.submit("STAIR"));
+        assertEquals(1, session.getRowCount());
+
+        // Rebuilt from the rows, e.g. after rotation
+        GameSession restored = newSession();
+        restored.setHardMode(true);
+        assertTrue(restored.restoreState(session.saveState(), null));
+        assertEquals(GameSession.SubmitResult.MISSES_HINT, restored.submit("CRANE"));
+        restored.setHardMode(false);
+        assertEquals(GameSession.SubmitResult.ACCEPTED, restored.submit("CRANE"));
+        assertEquals(GameSession.SubmitResult.WON, restored.submit("HOTEL"));
+    }
+
+    @Test
+    public void restoreState_rejectsBrokenState() {
+        GameSession session = newSession();
+        session.start(WordCodec.pack("HOTEL"));
+        session.submit("THOSE");
+
+        assertFalse(session.restoreState(null, null));
+        assertFalse(session.restoreState(new int[]{WordCodec.pack("ZZZZZ"), 0}, null));
+        assertFalse(session.restoreState(new int[]{WordCodec.pack("HOTEL"), 7}, null));
+        assertFalse(session.restoreState(new int[]{WordCodec.pack("HOTEL"), 1, WordCodec.pack("CRANE")}, null));
+        // Unchanged
+        assertEquals(1, session.getRowCount());
+        assertEquals(WordCodec.pack("THOSE"), session.getGuessCode(0));
+    }
+}
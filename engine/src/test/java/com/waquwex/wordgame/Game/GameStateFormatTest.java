@@ -0,0 +1,92 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameStateFormatTest {
+    private static final WordDictionary DICTIONARY = WordDictionary.fromWords(Arrays.asList(
+            "SLATE", "STAIR", "CRANE", "THOSE", "EERIE", "HOTEL", "LEVEL", "ABBEY", "KEBAB"));
+    private static final CandidateIndex INDEX = CandidateIndex.build(DICTIONARY);
+
+    private static GameSession playedSession(String answer, String... guesses) {
+        GameSession session = new GameSession(DICTIONARY, INDEX);
+        session.start(WordCodec.pack(answer));
+        for (String guess : guesses) {
+            session.submit(guess);
+        }
+        return session;
+    }
+
+    // Like the store: header when the game starts, then one appended record per row
+    private static byte[] appendedFile(GameSession session) {
+        byte[] file = new byte[GameStateFormat.length(session.getRowCount())];
+        GameSession empty = playedSession(WordCodec.unpack(session.getAnswerCode()));
+        System.arraycopy(GameStateFormat.encode(empty), 0, file, 0, GameStateFormat.HEADER_SIZE);
+        for (int row = 0; row < session.getRowCount(); row++) {
+            System.arraycopy(GameStateFormat.encodeRow(session, row), 0, file,
+                    GameStateFormat.length(row), GameStateFormat.RECORD_SIZE);
+        }
+        return file;
+    }
+
+    @Test
+    public void restore_rebuildsRowsKeysAndCandidates() {
+        GameSession played = playedSession("HOTEL", "SLATE", "LEVEL");
+        byte[] file = appendedFile(played);
+        assertArrayEquals(GameStateFormat.encode(played), file);
+        assertEquals(11 + 2 * 6, file.length);
+
+        GameSession restored = new GameSession(DICTIONARY, INDEX);
+        assertTrue(GameStateFormat.restore(file, file.length, restored));
+        assertArrayEquals(played.saveState(), restored.saveState());
+        assertEquals(GameSession.Status.IN_PROGRESS, restored.getStatus());
+        assertArrayEquals(played.getCandidates().toLongArray(), restored.getCandidates().toLongArray());
+        for (int letter = 0; letter < 26; letter++) {
+            assertEquals(played.getKeyState(letter), restored.getKeyState(letter));
+        }
+        assertEquals(GameSession.SubmitResult.WON, restored.submit("HOTEL"));
+    }
+
+    @Test
+    public void restore_dropsATornOrForeignRecord() {
+        GameSession played = playedSession("STAIR", "SLATE", "CRANE", "STAIR");
+        byte[] file = GameStateFormat.encode(played);
+
+        // Killed while appending the last row
+        GameSession restored = new GameSession(DICTIONARY, INDEX);
+        assertTrue(GameStateFormat.restore(file, file.length - 2, restored));
+        assertEquals(2, restored.getRowCount());
+        assertFalse(restored.isOver());
+
+        // Rows of another game behind this header
+        GameSession other = playedSession("THOSE", "SLATE", "CRANE");
+        byte[] mixed = Arrays.copyOf(file, file.length);
+        System.arraycopy(GameStateFormat.encodeRow(other, 1), 0, mixed, GameStateFormat.length(1),
+                GameStateFormat.RECORD_SIZE);
+        assertTrue(GameStateFormat.restore(mixed, mixed.length, restored));
+        assertEquals(1, restored.getRowCount());
+    }
+
+    @Test
+    public void restore_rejectsOtherFilesAndSessions() {
+        byte[] file = GameStateFormat.encode(playedSession("CRANE", "SLATE"));
+        GameSession session = new GameSession(DICTIONARY, INDEX);
+
+        assertFalse(GameStateFormat.restore(file, GameStateFormat.HEADER_SIZE - 1, session));
+        byte[] corrupt = Arrays.copyOf(file, file.length);
+        corrupt[8] ^= 1;
+        assertFalse(GameStateFormat.restore(corrupt, corrupt.length, session));
+        assertFalse(GameStateFormat.restore(file, file.length, new GameSession(DICTIONARY, INDEX, 5)));
+        // Answer outside the dictionary
+        WordDictionary smaller = WordDictionary.fromWords(Arrays.asList("SLATE", "STAIR"));
+        assertFalse(GameStateFormat.restore(file, file.length, new GameSession(smaller, null)));
+        assertEquals(GameSession.Status.NOT_STARTED, session.getStatus());
+    }
+}
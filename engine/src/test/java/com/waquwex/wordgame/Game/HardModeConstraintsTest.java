@@ -0,0 +1,81 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static com.waquwex.wordgame.Dictionary.RandomWords.randomWord;
+import static org.junit.Assert.*;
+
+public class HardModeConstraintsTest {
+    // Hard mode spelled out on strings, used as reference
+    private static boolean referenceAllows(String guess, ArrayList<String> rows, String answer) {
+        for (String row : rows) {
+            int feedback = GuessScorer.score(row, answer);
+            int[] needed = new int[26];
+            for (int i = 0; i < 5; i++) {
+                int state = GuessScorer.feedbackAt(feedback, i);
+                if (state == GuessScorer.CORRECT && guess.charAt(i) != row.charAt(i)) {
+                    return false;
+                }
+                if (state != GuessScorer.ABSENT) {
+                    needed[row.charAt(i) - 'A']++;
+                }
+            }
+            for (int i = 0; i < 5; i++) {
+                needed[guess.charAt(i) - 'A']--;
+            }
+            for (int count : needed) {
+                if (count > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void allows_keepsGreensInPlaceAndCountsYellows() {
+        HardModeConstraints constraints = new HardModeConstraints();
+        assertTrue(constraints.allows(WordCodec.pack("ZZZZZ")));
+
+        // Answer ABBEY: B green at 2, E and the other B yellow
+        constraints.apply(WordCodec.pack("EBBBS"), GuessScorer.score("EBBBS", "ABBEY"));
+        assertTrue(constraints.allows(WordCodec.pack("ABBEY")));
+        assertTrue(constraints.allows(WordCodec.pack("XBBEX")));
+        // Second B missing
+        assertFalse(constraints.allows(WordCodec.pack("XBXEX")));
+        // Green B moved
+        assertFalse(constraints.allows(WordCodec.pack("XXBEB")));
+        // E missing
+        assertFalse(constraints.allows(WordCodec.pack("XBBXX")));
+    }
+
+    @Test
+    public void allows_matchesReferenceOnRandomGames() {
+        // Letters from both halves of the alphabet, so both count words are used
+        String letters = "AEBRZYQP";
+        Random random = new Random(11);
+        HardModeConstraints constraints = new HardModeConstraints();
+        for (int game = 0; game < 500; game++) {
+            String answer = randomWord(random, letters);
+            ArrayList<String> rows = new ArrayList<>();
+            constraints.reset();
+            for (int row = 0; row < 4; row++) {
+                String played = randomWord(random, letters);
+                rows.add(played);
+                constraints.apply(WordCodec.pack(played), GuessScorer.score(played, answer));
+                for (int i = 0; i < 50; i++) {
+                    String guess = randomWord(random, letters);
+                    assertEquals(rows + " " + answer + " " + guess,
+                            referenceAllows(guess, rows, answer), constraints.allows(WordCodec.pack(guess)));
+                }
+                assertTrue(constraints.allows(WordCodec.pack(answer)));
+            }
+        }
+    }
+}
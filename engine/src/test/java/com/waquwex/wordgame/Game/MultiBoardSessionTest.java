@@ -0,0 +1,111 @@
+package com.waquwex.wordgame.Game;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MultiBoardSessionTest {
+    private static final WordDictionary DICTIONARY = WordDictionary.fromWords(Arrays.asList(
+            "SLATE", "STAIR", "CRANE", "THOSE", "EERIE", "HOTEL", "LEVEL", "ABBEY", "KEBAB", "FJORD"));
+
+    private static int[] codes(String... words) {
+        int[] codes = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            codes[i] = WordCodec.pack(words[i]);
+        }
+        return codes;
+    }
+
+    @Test
+    public void submit_scoresOnlyUnsolvedBoards() {
+        MultiBoardSession session = new MultiBoardSession(DICTIONARY, 4, MultiBoardSession.defaultMaxRows(4));
+        assertEquals(9, session.getMaxRows());
+        session.start(codes("CRANE", "HOTEL", "CRANE", "ABBEY"));
+
+        assertEquals(GameSession.SubmitResult.INVALID_WORD, session.submit("XXXXX"));
+        assertEquals(0, session.getRowCount());
+
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("CRANE"));
+        assertEquals(4, session.getScoredBoardCount());
+        assertEquals(0, session.getSolvedRow(0));
+        assertEquals(0, session.getSolvedRow(2));
+        assertFalse(session.isSolved(1));
+        assertEquals(GuessScorer.score("CRANE", "HOTEL"), session.getFeedback(1, 0));
+
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("HOTEL"));
+        assertEquals(2, session.getScoredBoardCount());
+        assertEquals(1, session.getScoredBoard(0));
+        assertEquals(3, session.getScoredBoard(1));
+        assertEquals(GuessScorer.score("HOTEL", "ABBEY"), session.getFeedback(3, 1));
+        try {
+            session.getFeedback(0, 1);
+            fail("Board 0 was solved in row 0");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        assertEquals(GameSession.SubmitResult.WON, session.submit("ABBEY"));
+        assertEquals(1, session.getScoredBoardCount());
+        assertEquals(GameSession.Status.WON, session.getStatus());
+        assertEquals(GameSession.SubmitResult.GAME_OVER, session.submit("SLATE"));
+    }
+
+    @Test
+    public void keyStates_mergeOnlyUnsolvedBoards() {
+        MultiBoardSession session = new MultiBoardSession(DICTIONARY, 2, 7);
+        session.start(codes("SLATE", "FJORD"));
+        session.submit("STAIR");
+        // R is misplaced on FJORD, absent from SLATE
+        assertEquals(GuessScorer.KEY_PRESENT, session.getKeyState('R' - 'A'));
+        assertEquals(GuessScorer.KEY_CORRECT, session.getKeyState('S' - 'A'));
+        // I is absent from both
+        assertEquals(GuessScorer.KEY_ABSENT, session.getKeyState('I' - 'A'));
+
+        // SLATE is solved, only FJORD's view of the keys is left
+        session.submit("SLATE");
+        assertEquals(GuessScorer.KEY_ABSENT, session.getKeyState('S' - 'A'));
+        assertEquals(GuessScorer.KEY_ABSENT, session.getKeyState('L' - 'A'));
+        assertEquals(GuessScorer.KEY_PRESENT, session.getKeyState('R' - 'A'));
+    }
+
+    @Test
+    public void lostWhenRowsRunOut() {
+        MultiBoardSession session = new MultiBoardSession(DICTIONARY, 2, 2);
+        session.start(codes("SLATE", "FJORD"));
+        assertEquals(GameSession.SubmitResult.ACCEPTED, session.submit("SLATE"));
+        assertEquals(GameSession.SubmitResult.LOST, session.submit("CRANE"));
+        assertTrue(session.isOver());
+        assertTrue(session.isSolved(0));
+        assertFalse(session.isSolved(1));
+    }
+
+    @Test
+    public void restoreState_replaysTheRows() {
+        MultiBoardSession played = new MultiBoardSession(DICTIONARY, 8, 13);
+        played.start(codes("SLATE", "STAIR", "CRANE", "THOSE", "EERIE", "HOTEL", "LEVEL", "ABBEY"));
+        played.submit("CRANE");
+        played.submit("LEVEL");
+        played.submit("KEBAB");
+
+        MultiBoardSession restored = new MultiBoardSession(DICTIONARY, 8, 13);
+        assertTrue(restored.restoreState(played.saveState()));
+        assertArrayEquals(played.saveState(), restored.saveState());
+        for (int board = 0; board < 8; board++) {
+            assertEquals(played.getSolvedRow(board), restored.getSolvedRow(board));
+            for (int row = 0; row < 3 && (row <= played.getSolvedRow(board) || !played.isSolved(board)); row++) {
+                assertEquals(played.getFeedback(board, row), restored.getFeedback(board, row));
+            }
+        }
+        for (int letter = 0; letter < 26; letter++) {
+            assertEquals(played.getKeyState(letter), restored.getKeyState(letter));
+        }
+
+        assertFalse(new MultiBoardSession(DICTIONARY, 4, 9).restoreState(played.saveState()));
+        assertFalse(new MultiBoardSession(DICTIONARY, 8, 2).restoreState(played.saveState()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.waquwex.wordgame.Game;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class WordSchedulerTest {
+    @Test
+    public void permutation_isABijectionForAnySize() {
+        for (int size : new int[] {1, 2, 3, 4, 5, 17, 1000, 2315, 12972, 1 << 20, (1 << 20) + 1}) {
+            IndexPermutation permutation = new IndexPermutation(size, size * 31L);
+            BitSet seen = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int value = permutation.apply(i);
+                assertTrue(value >= 0 && value < size);
+                assertFalse("repeat for size " + size, seen.get(value));
+                seen.set(value);
+            }
+        }
+    }
+
+    @Test
+    public void permutation_dependsOnTheSeed() {
+        IndexPermutation first = new IndexPermutation(12972, 1);
+        IndexPermutation second = new IndexPermutation(12972, 2);
+        int same = 0;
+        int fixedPoints = 0;
+        for (int i = 0; i < 12972; i++) {
+            if (first.apply(i) == second.apply(i)) {
+                same++;
+            }
+            if (first.apply(i) == i) {
+                fixedPoints++;
+            }
+        }
+        // About one of each is expected from a random permutation
+        assertTrue(same < 20);
+        assertTrue(fixedPoints < 20);
+    }
+
+    @Test
+    public void endless_neverRepeatsWithinAPass() {
+        int size = 2315;
+        WordScheduler scheduler = new WordScheduler(size, 42);
+        for (int pass = 0; pass < 3; pass++) {
+            BitSet seen = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int index = scheduler.endlessIndex((long) pass * size + i);
+                assertFalse(seen.get(index));
+                seen.set(index);
+            }
+        }
+        // Another pass is another order
+        int same = 0;
+        for (int i = 0; i < size; i++) {
+            if (scheduler.endlessIndex(i) == scheduler.endlessIndex(size + i)) {
+                same++;
+            }
+        }
+        assertTrue(same < 20);
+    }
+
+    @Test
+    public void daily_isTheSameForEveryInstall() {
+        WordScheduler first = new WordScheduler(12972, 1);
+        WordScheduler second = new WordScheduler(12972, 2);
+        BitSet seen = new BitSet(12972);
+        // About 35 years of days, nothing repeats
+        for (long day = 0; day < 12972; day++) {
+            int index = first.dailyIndex(day);
+            assertEquals(index, second.dailyIndex(day));
+            assertFalse(seen.get(index));
+            seen.set(index);
+        }
+        // Out of order lookups give the same words
+        assertEquals(first.dailyIndex(20_000), new WordScheduler(12972, 3).dailyIndex(20_000));
+        assertEquals(first.dailyIndex(-5), second.dailyIndex(-5));
+    }
+}
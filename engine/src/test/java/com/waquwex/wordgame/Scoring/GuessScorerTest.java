@@ -0,0 +1,143 @@
+package com.waquwex.wordgame.Scoring;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.waquwex.wordgame.Dictionary.RandomWords.randomWord;
+import static com.waquwex.wordgame.Scoring.GuessScorer.ABSENT;
+import static com.waquwex.wordgame.Scoring.GuessScorer.CORRECT;
+import static com.waquwex.wordgame.Scoring.GuessScorer.PRESENT;
+import static org.junit.Assert.*;
+
+public class GuessScorerTest {
+    // "G" correct, "Y" present, "-" absent
+    private static String pattern(String guess, String answer) {
+        int feedback = GuessScorer.score(guess, answer);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            int value = GuessScorer.feedbackAt(feedback, i);
+            builder.append(value == CORRECT ? 'G' : value == PRESENT ? 'Y' : '-');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void score_exactMatchIsAllCorrect() {
+        assertEquals(GuessScorer.ALL_CORRECT, GuessScorer.score("CRANE", "CRANE"));
+        assertEquals("GGGGG", pattern("CRANE", "CRANE"));
+    }
+
+    @Test
+    public void score_noCommonLettersIsAllAbsent() {
+        assertEquals(0, GuessScorer.score("BUMPY", "CRANE"));
+    }
+
+    @Test
+    public void score_marksMisplacedLetters() {
+        assertEquals("YYYYY", pattern("RANEC", "CRANE"));
+        assertEquals("G-GY-", pattern("SLATE", "STAIR"));
+    }
+
+    @Test
+    public void score_repeatedGuessLetterOnlyMatchesOnce() {
+        // THOSE has one E and it is taken by the green, both other Es get nothing
+        assertEquals("----G", pattern("EERIE", "THOSE"));
+        // Extra O has no unmatched copy left
+        assertEquals("--G-G", pattern("SPOOL", "ATOLL"));
+    }
+
+    @Test
+    public void score_greenTakesPriorityOverEarlierYellow() {
+        // Scanning left to right without counting would make the first L and E yellow
+        assertEquals("---GG", pattern("LEVEL", "HOTEL"));
+        assertEquals("YYGY-", pattern("ABBEY", "KEBAB"));
+    }
+
+    @Test
+    public void score_repeatedAnswerLettersCanAllMatch() {
+        assertEquals("YY---", pattern("LLAMA", "HELLO"));
+        assertEquals("Y-YY-", pattern("SPEED", "ERASE"));
+    }
+
+    // Letter counting version of the rules, used as reference
+    private static int referenceScore(String guess, String answer) {
+        int[] unmatched = new int[26];
+        int[] result = new int[5];
+        for (int i = 0; i < 5; i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                result[i] = CORRECT;
+            } else {
+                unmatched[answer.charAt(i) - 'A']++;
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            if (result[i] != CORRECT && unmatched[guess.charAt(i) - 'A'] > 0) {
+                unmatched[guess.charAt(i) - 'A']--;
+                result[i] = PRESENT;
+            }
+        }
+        int feedback = 0;
+        for (int i = 4; i >= 0; i--) {
+            feedback = feedback * 3 + result[i];
+        }
+        return feedback;
+    }
+
+    @Test
+    public void score_matchesLetterCountingReference() {
+        String[] words = {"CRANE", "EERIE", "LLAMA", "HELLO", "ABBEY", "KEBAB", "SPEED", "ERASE",
+                "ALLOT", "ATOLL", "LEVEL", "HOTEL", "MAMMA", "GEESE", "TEPEE", "SASSY"};
+        for (String guess : words) {
+            for (String answer : words) {
+                assertEquals(guess + "/" + answer,
+                        referenceScore(guess, answer),
+                        GuessScorer.score(WordCodec.pack(guess), WordCodec.pack(answer)));
+            }
+        }
+    }
+
+    @Test
+    public void scoreAll_matchesReferenceOnRandomWords() {
+        // Letters one bit apart in the packed code, so near misses are common
+        String letters = "ABCPQRY";
+        Random random = new Random(7);
+        String[] answers = new String[8];
+        int[] answerCodes = new int[answers.length];
+        int[] feedbacks = new int[answers.length];
+        for (int round = 0; round < 2000; round++) {
+            String guess = randomWord(random, letters);
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = randomWord(random, letters);
+                answerCodes[i] = WordCodec.pack(answers[i]);
+            }
+            GuessScorer.scoreAll(WordCodec.pack(guess), answerCodes, answers.length, feedbacks);
+            for (int i = 0; i < answers.length; i++) {
+                assertEquals(guess + "/" + answers[i], referenceScore(guess, answers[i]), feedbacks[i]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void score_rejectsInvalidWords() {
+        GuessScorer.score("CRAN", "CRANE");
+    }
+
+    @Test
+    public void mergeKeyStates_neverDowngradesAKey() {
+        int[] keys = new int[26];
+        GuessScorer.mergeKeyStates(WordCodec.pack("ABBEY"), GuessScorer.score("ABBEY", "BABES"), keys);
+        assertEquals(GuessScorer.KEY_PRESENT, keys['A' - 'A']);
+        assertEquals(GuessScorer.KEY_CORRECT, keys['B' - 'A']);
+        assertEquals(GuessScorer.KEY_CORRECT, keys['E' - 'A']);
+        assertEquals(GuessScorer.KEY_ABSENT, keys['Y' - 'A']);
+        assertEquals(GuessScorer.KEY_UNUSED, keys['Z' - 'A']);
+
+        // B is absent at both positions now but was correct before
+        GuessScorer.mergeKeyStates(WordCodec.pack("BBBBB"), GuessScorer.score("BBBBB", "CRANE"), keys);
+        assertEquals(GuessScorer.KEY_CORRECT, keys['B' - 'A']);
+        assertEquals(ABSENT, GuessScorer.score("BBBBB", "CRANE"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.waquwex.wordgame.Dictionary.RandomWords.randomDictionary;
+import static org.junit.Assert.*;
+
+public class CandidateSetTest {
+    // Small alphabet so words share letters and repeat them a lot
+    private static final String LETTERS = "AEBLSTO";
+
+    @Test
+    public void apply_keepsExactlyTheConsistentAnswers() {
+        WordDictionary dictionary = randomDictionary(3000, LETTERS, 42);
+        CandidateIndex index = CandidateIndex.build(dictionary);
+        Random random = new Random(7);
+
+        for (int game = 0; game < 20; game++) {
+            int answer = dictionary.codeAt(random.nextInt(dictionary.size()));
+            CandidateSet candidates = new CandidateSet(index);
+            boolean[] expected = new boolean[dictionary.size()];
+            Arrays.fill(expected, true);
+
+            for (int row = 0; row < 4; row++) {
+                int guess = dictionary.codeAt(random.nextInt(dictionary.size()));
+                int feedback = GuessScorer.score(guess, answer);
+                candidates.apply(guess, feedback);
+
+                int expectedCount = 0;
+                for (int word = 0; word < dictionary.size(); word++) {
+                    expected[word] &= GuessScorer.score(guess, dictionary.codeAt(word)) == feedback;
+                    assertEquals(expected[word], candidates.contains(word));
+                    if (expected[word]) {
+                        expectedCount++;
+                    }
+                }
+                assertEquals(expectedCount, candidates.size());
+                assertTrue(candidates.contains(dictionary.indexOf(answer)));
+            }
+        }
+    }
+
+    @Test
+    public void nextCandidate_walksSetBitsInOrder() {
+        WordDictionary dictionary = randomDictionary(500, LETTERS, 1);
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+        int answer = dictionary.codeAt(123);
+        candidates.apply(dictionary.codeAt(0), GuessScorer.score(dictionary.codeAt(0), answer));
+
+        int visited = 0;
+        for (int word = candidates.nextCandidate(0); word >= 0; word = candidates.nextCandidate(word + 1)) {
+            assertTrue(candidates.contains(word));
+            visited++;
+        }
+        assertEquals(candidates.size(), visited);
+    }
+
+    @Test
+    public void restore_bringsBackSavedBits() {
+        WordDictionary dictionary = randomDictionary(200, LETTERS, 3);
+        CandidateIndex index = CandidateIndex.build(dictionary);
+        CandidateSet candidates = new CandidateSet(index);
+        int guess = dictionary.codeAt(5);
+        candidates.apply(guess, GuessScorer.score(guess, dictionary.codeAt(50)));
+        long[] saved = candidates.toLongArray();
+
+        CandidateSet restored = new CandidateSet(index);
+        assertTrue(restored.restore(saved));
+        assertEquals(candidates.size(), restored.size());
+        assertFalse(restored.restore(new long[saved.length + 1]));
+        assertEquals(dictionary.size(), new CandidateSet(index).size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.waquwex.wordgame.Dictionary.RandomWords.randomDictionary;
+import static org.junit.Assert.*;
+
+public class EntropySolverTest {
+    private static final String LETTERS = "AEBLSTORNC";
+
+    private static double entropy(WordDictionary dictionary, int guess) {
+        int[] buckets = new int[GuessScorer.FEEDBACK_COUNT];
+        for (int answer = 0; answer < dictionary.size(); answer++) {
+            buckets[GuessScorer.score(dictionary.codeAt(guess), dictionary.codeAt(answer))]++;
+        }
+        double entropy = 0;
+        for (int count : buckets) {
+            if (count > 0) {
+                double p = (double) count / dictionary.size();
+                entropy -= p * Math.log(p) / Math.log(2);
+            }
+        }
+        return entropy;
+    }
+
+    @Test
+    public void solve_findsMaximumEntropyGuess() {
+        WordDictionary dictionary = randomDictionary(600, LETTERS, 11);
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+
+        double bestEntropy = 0;
+        for (int guess = 0; guess < dictionary.size(); guess++) {
+            bestEntropy = Math.max(bestEntropy, entropy(dictionary, guess));
+        }
+
+        EntropySolver.Result withoutTable = new EntropySolver(dictionary, null).solve(candidates, Long.MAX_VALUE);
+        EntropySolver.Result withTable = new EntropySolver(dictionary, FeedbackTable.build(dictionary))
+                .solve(candidates, Long.MAX_VALUE);
+
+        assertTrue(withoutTable.complete);
+        assertEquals(dictionary.size(), withoutTable.evaluatedGuesses);
+        assertEquals(bestEntropy, withoutTable.expectedInformation, 1e-9);
+        assertEquals(bestEntropy, entropy(dictionary, withoutTable.guessIndex), 1e-9);
+        assertEquals(withoutTable.guessIndex, withTable.guessIndex);
+    }
+
+    @Test
+    public void solve_breaksTiesTowardsLowerIndex() {
+        // Every guess splits the others the same way
+        WordDictionary dictionary = WordDictionary.fromWords(Arrays.asList("ccccc", "aaaaa", "bbbbb"));
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+
+        EntropySolver.Result result = new EntropySolver(dictionary, null).solve(candidates, Long.MAX_VALUE);
+        assertEquals(0, result.guessIndex);
+    }
+
+    @Test
+    public void solve_returnsLastCandidate() {
+        WordDictionary dictionary = randomDictionary(300, LETTERS, 2);
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+        int answer = dictionary.codeAt(42);
+        candidates.apply(answer, GuessScorer.ALL_CORRECT);
+
+        EntropySolver.Result result = new EntropySolver(dictionary, null).solve(candidates, Long.MAX_VALUE);
+        assertEquals(42, result.guessIndex);
+    }
+
+    @Test
+    public void solve_canGuessOnlyCandidates() {
+        WordDictionary dictionary = randomDictionary(600, LETTERS, 5);
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+        candidates.apply(dictionary.codeAt(7), GuessScorer.score(dictionary.codeAt(7), dictionary.codeAt(300)));
+        assertTrue(candidates.size() > 2);
+
+        EntropySolver.Result result = new EntropySolver(dictionary, null).solve(candidates, true, Long.MAX_VALUE);
+        assertTrue(result.complete);
+        assertEquals(candidates.size(), result.evaluatedGuesses);
+        assertTrue(candidates.contains(result.guessIndex));
+    }
+
+    @Test
+    public void solve_stopsAtTimeBudget() {
+        WordDictionary dictionary = randomDictionary(2000, LETTERS, 3);
+        CandidateSet candidates = new CandidateSet(CandidateIndex.build(dictionary));
+
+        EntropySolver.Result result = new EntropySolver(dictionary, null).solve(candidates, 0);
+        assertFalse(result.complete);
+        assertTrue(candidates.contains(result.guessIndex));
+    }
+}
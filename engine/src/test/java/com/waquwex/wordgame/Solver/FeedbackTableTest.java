@@ -0,0 +1,73 @@
+package com.waquwex.wordgame.Solver;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class FeedbackTableTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final WordDictionary DICTIONARY = WordDictionary.fromWords(Arrays.asList(
+            "crane", "slate", "eerie", "those", "llama", "hello", "abbey", "kebab", "speed", "erase"));
+
+    @Test
+    public void build_matchesScorerForEveryPair() {
+        FeedbackTable table = FeedbackTable.build(DICTIONARY);
+
+        assertEquals(DICTIONARY.size(), table.size());
+        for (int guess = 0; guess < DICTIONARY.size(); guess++) {
+            for (int answer = 0; answer < DICTIONARY.size(); answer++) {
+                assertEquals(GuessScorer.score(DICTIONARY.codeAt(guess), DICTIONARY.codeAt(answer)),
+                        table.feedback(guess, answer));
+            }
+            assertEquals(GuessScorer.ALL_CORRECT, table.feedback(guess, guess));
+        }
+    }
+
+    @Test
+    public void readCache_returnsWrittenTableForSameDictionary() throws IOException {
+        File cache = new File(temporaryFolder.getRoot(), "feedback.bin");
+        assertNull(FeedbackTable.readCache(cache, DICTIONARY));
+        FeedbackTable built = FeedbackTable.build(DICTIONARY);
+        built.writeCache(cache, DICTIONARY);
+        assertTrue(cache.exists());
+
+        FeedbackTable cached = FeedbackTable.readCache(cache, DICTIONARY);
+        assertNotNull(cached);
+        for (int guess = 0; guess < DICTIONARY.size(); guess++) {
+            for (int answer = 0; answer < DICTIONARY.size(); answer++) {
+                assertEquals(built.feedback(guess, answer), cached.feedback(guess, answer));
+            }
+        }
+    }
+
+    @Test
+    public void readCache_ignoresCacheOfOtherDictionary() throws IOException {
+        File cache = new File(temporaryFolder.getRoot(), "feedback.bin");
+        FeedbackTable.build(DICTIONARY).writeCache(cache, DICTIONARY);
+
+        WordDictionary other = WordDictionary.fromWords(Arrays.asList("zonal", "crane"));
+        assertNull(FeedbackTable.readCache(cache, other));
+    }
+
+    @Test(expected = IOException.class)
+    public void readCache_throwsOnTruncatedCache() throws IOException {
+        File cache = new File(temporaryFolder.getRoot(), "feedback.bin");
+        FeedbackTable.build(DICTIONARY).writeCache(cache, DICTIONARY);
+        try (RandomAccessFile file = new RandomAccessFile(cache, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        FeedbackTable.readCache(cache, DICTIONARY);
+    }
+}
@@ -0,0 +1,132 @@
+package com.waquwex.wordgame.Stats;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class StatsStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StatsStore newStore() {
+        return new StatsStore(new File(folder.getRoot(), "stats.log"), new File(folder.getRoot(), "stats.snapshot"), 6);
+    }
+
+    private static GameResult result(int answer, int rows, boolean won) {
+        return new GameResult(answer, rows, won, 1000L * answer);
+    }
+
+    @Test
+    public void stats_trackStreaksDistributionAndWords() {
+        PlayerStats stats = new PlayerStats(6);
+        for (GameResult result : Arrays.asList(result(1, 3, true), result(2, 4, true), result(1, 6, false),
+                result(3, 2, true), result(1, 2, true), result(4, 6, true))) {
+            stats.record(result);
+        }
+        assertEquals(6, stats.getPlayed());
+        assertEquals(5, stats.getWon());
+        assertEquals(5 / 6.0, stats.getWinRate(), 1e-9);
+        assertEquals(3, stats.getCurrentStreak());
+        assertEquals(3, stats.getMaxStreak());
+        assertEquals(2, stats.getSolvedIn(2));
+        assertEquals(1, stats.getSolvedIn(6));
+        assertEquals(4, stats.getWordCount());
+
+        PlayerStats.WordHistory history = stats.getHistory(1);
+        assertEquals(3, history.getPlayed());
+        assertEquals(2, history.getWon());
+        assertEquals(2, history.getBestRows());
+        assertNull(stats.getHistory(5));
+    }
+
+    @Test
+    public void load_seesAppendedAndCompactedGames() throws IOException {
+        StatsStore store = newStore();
+        PlayerStats stats = store.load();
+        ArrayList<GameResult> expected = new ArrayList<>();
+        // Crosses a compaction, some games stay in the log
+        for (int game = 0; game < StatsStore.COMPACT_RECORDS + 40; game += 10) {
+            ArrayList<GameResult> batch = new ArrayList<>();
+            for (int i = game; i < game + 10; i++) {
+                batch.add(result(i % 37 + 1, i % 6 + 1, i % 5 != 0));
+            }
+            store.append(batch, stats);
+            expected.addAll(batch);
+        }
+        assertEquals(expected.size(), stats.getPlayed());
+        assertTrue(new File(folder.getRoot(), "stats.snapshot").exists());
+        assertEquals(StatsStore.LOG_HEADER_SIZE + 40 * StatsStore.RECORD_SIZE,
+                new File(folder.getRoot(), "stats.log").length());
+
+        PlayerStats loaded = newStore().load();
+        assertSameStats(stats, loaded);
+    }
+
+    @Test
+    public void load_dropsATornRecordAndKeepsAppending() throws IOException {
+        StatsStore store = newStore();
+        PlayerStats stats = store.load();
+        store.append(Arrays.asList(result(1, 2, true), result(2, 6, false)), stats);
+        File log = new File(folder.getRoot(), "stats.log");
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        StatsStore reopened = newStore();
+        PlayerStats loaded = reopened.load();
+        assertEquals(1, loaded.getPlayed());
+        reopened.append(Collections.singletonList(result(3, 4, true)), loaded);
+        loaded = newStore().load();
+        assertEquals(2, loaded.getPlayed());
+        assertEquals(2, loaded.getCurrentStreak());
+    }
+
+    @Test
+    public void load_ignoresALogTheSnapshotAlreadyHas() throws IOException {
+        StatsStore store = newStore();
+        PlayerStats stats = store.load();
+        store.append(Arrays.asList(result(1, 2, true), result(2, 3, true)), stats);
+        File log = new File(folder.getRoot(), "stats.log");
+        File oldLog = folder.newFile("old.log");
+        assertTrue(log.renameTo(oldLog));
+        store.compact(stats);
+        // Killed after the snapshot was written, before the log was reset
+        assertTrue(oldLog.renameTo(log));
+
+        PlayerStats loaded = newStore().load();
+        assertSameStats(stats, loaded);
+        assertEquals(StatsStore.LOG_HEADER_SIZE, log.length());
+    }
+
+    private static void assertSameStats(PlayerStats expected, PlayerStats actual) {
+        assertEquals(expected.getPlayed(), actual.getPlayed());
+        assertEquals(expected.getWon(), actual.getWon());
+        assertEquals(expected.getCurrentStreak(), actual.getCurrentStreak());
+        assertEquals(expected.getMaxStreak(), actual.getMaxStreak());
+        for (int rows = 1; rows <= 6; rows++) {
+            assertEquals(expected.getSolvedIn(rows), actual.getSolvedIn(rows));
+        }
+        assertEquals(expected.getWordCount(), actual.getWordCount());
+        for (int answer = 1; answer <= 37; answer++) {
+            PlayerStats.WordHistory expectedHistory = expected.getHistory(answer);
+            PlayerStats.WordHistory actualHistory = actual.getHistory(answer);
+            if (expectedHistory == null) {
+                assertNull(actualHistory);
+                continue;
+            }
+            assertEquals(expectedHistory.getPlayed(), actualHistory.getPlayed());
+            assertEquals(expectedHistory.getWon(), actualHistory.getWon());
+            assertEquals(expectedHistory.getBestRows(), actualHistory.getBestRows());
+            assertEquals(expectedHistory.getLastPlayedMillis(), actualHistory.getLastPlayedMillis());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.waquwex.wordgame.Dictionary;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+// Random five letter words for tests, over a given alphabet
+public final class RandomWords {
+    private RandomWords() {
+    }
+
+    public static String randomWord(Random random, String letters) {
+        char[] word = new char[WordCodec.WORD_LENGTH];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = letters.charAt(random.nextInt(letters.length()));
+        }
+        return new String(word);
+    }
+
+    // Duplicates are dropped, so it may hold fewer than words
+    public static WordDictionary randomDictionary(int words, String letters, long seed) {
+        Random random = new Random(seed);
+        ArrayList<String> list = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            list.add(randomWord(random, letters));
+        }
+        return WordDictionary.fromWords(list);
+    }
+}
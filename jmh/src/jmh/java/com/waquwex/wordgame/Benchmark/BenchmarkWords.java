@@ -0,0 +1,52 @@
+package com.waquwex.wordgame.Benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+// Word lists for the benchmarks: the bundled src/main/words/word_list.txt (path passed by the jmh
+// block in build.gradle) or random five letter words for sizes the app doesn't ship yet.
+final class BenchmarkWords {
+    static final String BUNDLED = "bundled";
+
+    private BenchmarkWords() {
+    }
+
+    static List<String> bundled() throws IOException {
+        String path = System.getProperty("wordgame.wordList", "../app/src/main/words/word_list.txt");
+        List<String> words = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+            if (!line.trim().isEmpty()) {
+                words.add(line.trim());
+            }
+        }
+        return words;
+    }
+
+    // "bundled" or a word count
+    static List<String> load(String dictionary) throws IOException {
+        if (BUNDLED.equals(dictionary)) {
+            return bundled();
+        }
+        return random(Integer.parseInt(dictionary), 42);
+    }
+
+    // Distinct lowercase words, same seed gives the same list
+    static List<String> random(int count, long seed) {
+        Random random = new Random(seed);
+        LinkedHashSet<String> words = new LinkedHashSet<>();
+        char[] chars = new char[5];
+        while (words.size() < count) {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            words.add(new String(chars));
+        }
+        return new ArrayList<>(words);
+    }
+}
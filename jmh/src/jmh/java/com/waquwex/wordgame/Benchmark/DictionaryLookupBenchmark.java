@@ -0,0 +1,72 @@
+package com.waquwex.wordgame.Benchmark;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// validWord per submitted guess: packed binary search against the old linear
+// toUpperCase scan of MainActivity. Half of the queries are words that aren't listed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DictionaryLookupBenchmark {
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({BenchmarkWords.BUNDLED, "50000", "200000"})
+    public String dictionary;
+
+    private List<String> words;
+    private WordDictionary wordDictionary;
+    // Uppercase like the text of a WordleEditText
+    private StringBuilder[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        words = BenchmarkWords.load(dictionary);
+        wordDictionary = WordDictionary.fromWords(words);
+
+        List<String> missing = BenchmarkWords.random(QUERY_COUNT, 7);
+        Random random = new Random(1);
+        queries = new StringBuilder[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            String word = i % 2 == 0 ? words.get(random.nextInt(words.size())) : missing.get(i);
+            queries[i] = new StringBuilder(word.toUpperCase(Locale.UK));
+        }
+    }
+
+    private CharSequence nextQuery() {
+        next = (next + 1) & (QUERY_COUNT - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public boolean packedLookup() {
+        return wordDictionary.contains(nextQuery());
+    }
+
+    // MainActivity.validWord before the packed dictionary
+    @Benchmark
+    public boolean linearScan() {
+        String word = nextQuery().toString();
+        for (String w : words) {
+            if (w.toUpperCase(Locale.UK).equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package com.waquwex.wordgame.Benchmark;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Scoring one submitted guess: row colors (finalizeResult) plus key history (addToHistory).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringBenchmark {
+    private static final int PAIR_COUNT = 1024;
+    private static final char[] ENGLISH_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private String[] guesses;
+    private String[] answers;
+    private int[] guessCodes;
+    private int[] answerCodes;
+    private final int[] keyStates = new int[26];
+    private final int[] backgroundColors = new int[5];
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> words = BenchmarkWords.bundled();
+        Random random = new Random(3);
+        guesses = new String[PAIR_COUNT];
+        answers = new String[PAIR_COUNT];
+        guessCodes = new int[PAIR_COUNT];
+        answerCodes = new int[PAIR_COUNT];
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            guesses[i] = words.get(random.nextInt(words.size())).toUpperCase(Locale.UK);
+            answers[i] = words.get(random.nextInt(words.size())).toUpperCase(Locale.UK);
+            guessCodes[i] = WordCodec.pack(guesses[i]);
+            answerCodes[i] = WordCodec.pack(answers[i]);
+        }
+    }
+
+    @Benchmark
+    public int packedScore() {
+        next = (next + 1) & (PAIR_COUNT - 1);
+        int feedback = GuessScorer.score(guessCodes[next], answerCodes[next]);
+        GuessScorer.mergeKeyStates(guessCodes[next], feedback, keyStates);
+        return feedback;
+    }
+
+    // WordleEditText.finalizeResult and MainActivity.addToHistory before GuessScorer
+    @Benchmark
+    public int legacyContainsScore() {
+        next = (next + 1) & (PAIR_COUNT - 1);
+        String enteredText = guesses[next];
+        String result = answers[next];
+        for (int i = 0; i < 5; i++) {
+            if (result.charAt(i) == enteredText.charAt(i)) {
+                backgroundColors[i] = 2;
+            } else if (result.contains(String.valueOf(enteredText.charAt(i)))) {
+                backgroundColors[i] = 1;
+            } else {
+                backgroundColors[i] = 0;
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            int charIndex = indexOf(ENGLISH_CHARS, enteredText.charAt(i));
+            if (enteredText.charAt(i) == result.charAt(i)) {
+                keyStates[charIndex] = 3;
+            } else if (result.contains(String.valueOf(enteredText.charAt(i)))) {
+                if (keyStates[charIndex] != 3) {
+                    keyStates[charIndex] = 2;
+                }
+            } else {
+                keyStates[charIndex] = 1;
+            }
+        }
+        return backgroundColors[0];
+    }
+
+    private static int indexOf(char[] array, char target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
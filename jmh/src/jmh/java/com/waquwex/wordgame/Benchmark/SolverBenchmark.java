@@ -0,0 +1,68 @@
+package com.waquwex.wordgame.Benchmark;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+import com.waquwex.wordgame.Solver.CandidateSet;
+import com.waquwex.wordgame.Solver.EntropySolver;
+import com.waquwex.wordgame.Solver.FeedbackTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Solver side of a guess on the bundled list: narrowing candidates, the opening hint
+// (the most expensive one, every answer is still possible) and building the feedback table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SolverBenchmark {
+    private WordDictionary dictionary;
+    private CandidateSet allCandidates;
+    private CandidateSet candidates;
+    private FeedbackTable feedbackTable;
+    private int guessCode;
+    private int feedback;
+
+    @Setup
+    public void setUp() throws IOException {
+        dictionary = WordDictionary.fromWords(BenchmarkWords.bundled());
+        CandidateIndex index = CandidateIndex.build(dictionary);
+        allCandidates = new CandidateSet(index);
+        candidates = new CandidateSet(index);
+        feedbackTable = FeedbackTable.build(dictionary);
+        guessCode = WordCodec.pack("RAISE");
+        feedback = GuessScorer.score(guessCode, WordCodec.pack("CLOTH"));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int candidateApply() {
+        candidates.reset();
+        candidates.apply(guessCode, feedback);
+        return candidates.size();
+    }
+
+    @Benchmark
+    public EntropySolver.Result openingHintWithTable() {
+        return new EntropySolver(dictionary, feedbackTable).solve(allCandidates, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public EntropySolver.Result openingHintWithoutTable() {
+        return new EntropySolver(dictionary, null).solve(allCandidates, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public FeedbackTable buildFeedbackTable() {
+        return FeedbackTable.build(dictionary);
+    }
+}
@@ -0,0 +1,90 @@
+package com.waquwex.wordgame.Benchmark;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Dictionary.WordListFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Startup cost of the word list: the old line by line text read against mapping the compiled asset.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WordListLoadBenchmark {
+    @Param({BenchmarkWords.BUNDLED, "50000", "200000"})
+    public String dictionary;
+
+    private File textFile;
+    private File binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> words = BenchmarkWords.load(dictionary);
+        textFile = File.createTempFile("word_list", ".txt");
+        try (PrintWriter writer = new PrintWriter(textFile, "UTF-8")) {
+            for (String word : words) {
+                writer.print(word);
+                writer.print("\r\n");
+            }
+        }
+        binaryFile = File.createTempFile("word_list", ".bin");
+        try (OutputStream out = new FileOutputStream(binaryFile)) {
+            WordListFormat.write(WordDictionary.fromWords(words), out);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        textFile.delete();
+        binaryFile.delete();
+    }
+
+    // MainActivity.readWordList before the compiled asset
+    @Benchmark
+    public List<String> readTextLines() throws IOException {
+        ArrayList<String> allWords = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(textFile)))) {
+            String line = reader.readLine();
+            while (line != null) {
+                allWords.add(line);
+                line = reader.readLine();
+            }
+        }
+        return allWords;
+    }
+
+    // Text read plus packing, what a text based dictionary would cost
+    @Benchmark
+    public WordDictionary readTextAndPack() throws IOException {
+        return WordDictionary.fromWords(readTextLines());
+    }
+
+    // What AssetDictionaryLoader does with the compiled asset, including the checksum pass
+    @Benchmark
+    public WordDictionary mapBinary() throws IOException {
+        try (FileInputStream in = new FileInputStream(binaryFile)) {
+            FileChannel channel = in.getChannel();
+            return WordListFormat.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.waquwex.wordgame.Server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Game.WordScheduler;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// HTTP/JSON API over a SessionStore, every request is handled on a virtual thread of its own:
+//   POST /games                 new game, ?day=<epoch day> for that day's daily word,
+//                               ?hard=true for hard mode
+//   GET  /games/<id>            the game so far
+//   POST /games/<id>/guesses    body {"guess":"crane"}
+// A game is {"id", "status", "hardMode", "maxRows", "rows": [{"guess", "feedback"}], "answer"}, the
+// answer only once it is over, feedback one digit per letter (0 absent, 1 present, 2 correct).
+// A guess response adds "result", one of GameSession.SubmitResult. Rejected guesses are 422
+// (INVALID_WORD, MISSES_HINT) or 409 (GAME_OVER), unknown games 404 and a full store 503.
+public final class GameServer {
+    private static final String GAMES_PATH = "/games";
+    private static final String GUESSES_PATH = "/guesses";
+    private static final int MAX_BODY_BYTES = 256;
+    private static final long EXPIRE_PERIOD_SECONDS = 60;
+
+    private final SessionStore store;
+    private final WordScheduler scheduler;
+    // WordScheduler caches its permutations and isn't thread safe
+    private final ReentrantLock schedulerLock = new ReentrantLock();
+    private final AtomicLong endlessPosition = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService expiry;
+
+    /**
+     * @param endlessSeed Seed of the order games without a day are picked in
+     */
+    public GameServer(SessionStore store, long endlessSeed) {
+        this.store = store;
+        scheduler = new WordScheduler(store.getDictionary().size(), endlessSeed);
+    }
+
+    // Port 0 picks a free one, see getPort
+    public void start(InetSocketAddress address, int backlog) throws IOException {
+        server = HttpServer.create(address, backlog);
+        server.createContext(GAMES_PATH, this::handle);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+
+        expiry = Executors.newSingleThreadScheduledExecutor();
+        expiry.scheduleWithFixedDelay(() -> store.expire(System.currentTimeMillis()),
+                EXPIRE_PERIOD_SECONDS, EXPIRE_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Waits up to delaySeconds for requests being handled
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        expiry.shutdownNow();
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(GAMES_PATH) || path.equals(GAMES_PATH + "/")) {
+                if (!method.equals("POST")) {
+                    sendError(exchange, 405, "Use POST to start a game");
+                    return;
+                }
+                create(exchange);
+                return;
+            }
+
+            String rest = path.substring(GAMES_PATH.length() + 1);
+            boolean guesses = rest.endsWith(GUESSES_PATH);
+            long id = parseId(guesses ? rest.substring(0, rest.length() - GUESSES_PATH.length()) : rest);
+            if (id == -1) {
+                sendError(exchange, 404, "No such game");
+            } else if (guesses && method.equals("POST")) {
+                guess(exchange, id);
+            } else if (!guesses && method.equals("GET")) {
+                show(exchange, id);
+            } else {
+                sendError(exchange, 405, "Method not allowed");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String day = queryValue(query, "day");
+        boolean hardMode = "true".equals(queryValue(query, "hard"));
+        long epochDay = 0;
+        if (day != null) {
+            try {
+                epochDay = Long.parseLong(day);
+            } catch (NumberFormatException e) {
+                sendError(exchange, 400, "day must be an epoch day");
+                return;
+            }
+        }
+        int index;
+        schedulerLock.lock();
+        try {
+            index = day != null ? scheduler.dailyIndex(epochDay)
+                    : scheduler.endlessIndex(endlessPosition.getAndIncrement());
+        } finally {
+            schedulerLock.unlock();
+        }
+
+        long now = System.currentTimeMillis();
+        long id = store.create(store.getDictionary().codeAt(index), hardMode, now);
+        if (id == -1) {
+            sendError(exchange, 503, "Too many games");
+            return;
+        }
+        SessionStore.View view = new SessionStore.View(store.getMaxRows());
+        store.read(id, view);
+        send(exchange, 201, gameJson(id, view, null));
+    }
+
+    private void show(HttpExchange exchange, long id) throws IOException {
+        SessionStore.View view = new SessionStore.View(store.getMaxRows());
+        if (!store.read(id, view)) {
+            sendError(exchange, 404, "No such game");
+            return;
+        }
+        send(exchange, 200, gameJson(id, view, null));
+    }
+
+    private void guess(HttpExchange exchange, long id) throws IOException {
+        String body = readBody(exchange);
+        String guess = body != null ? stringField(body, "guess") : null;
+        if (guess == null) {
+            sendError(exchange, 400, "Expected {\"guess\": \"word\"}");
+            return;
+        }
+        SessionStore.View view = new SessionStore.View(store.getMaxRows());
+        // Packed without copying, the dictionary lookup is a binary search over ints
+        GameSession.SubmitResult result = store.submit(id, WordCodec.pack(guess), System.currentTimeMillis(), view);
+        if (result == null) {
+            sendError(exchange, 404, "No such game");
+            return;
+        }
+        int code;
+        switch (result) {
+            case INVALID_WORD:
+            case MISSES_HINT:
+                code = 422;
+                break;
+            case GAME_OVER:
+                code = 409;
+                break;
+            default:
+                code = 200;
+        }
+        send(exchange, code, gameJson(id, view, result));
+    }
+
+    private String gameJson(long id, SessionStore.View view, GameSession.SubmitResult result) {
+        StringBuilder json = new StringBuilder(128 + view.rowCount * 40);
+        json.append("{\"id\":\"").append(formatId(id)).append('"');
+        if (result != null) {
+            json.append(",\"result\":\"").append(result.name()).append('"');
+        }
+        json.append(",\"status\":\"").append(view.status.name()).append('"');
+        json.append(",\"hardMode\":").append(view.hardMode);
+        json.append(",\"maxRows\":").append(store.getMaxRows());
+        json.append(",\"rows\":[");
+        for (int row = 0; row < view.rowCount; row++) {
+            if (row > 0) {
+                json.append(',');
+            }
+            json.append("{\"guess\":\"").append(WordCodec.unpack(view.guessCodes[row])).append("\",\"feedback\":\"");
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                json.append((char) ('0' + GuessScorer.feedbackAt(view.feedbacks[row], i)));
+            }
+            json.append("\"}");
+        }
+        json.append(']');
+        if (view.answerCode != WordCodec.INVALID) {
+            json.append(",\"answer\":\"").append(WordCodec.unpack(view.answerCode)).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        send(exchange, code, "{\"error\":\"" + message.replace("\"", "\\\"") + "\"}");
+    }
+
+    private static void send(HttpExchange exchange, int code, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Null if the body is longer than any valid request
+    private static String readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes = new byte[MAX_BODY_BYTES + 1];
+        int length = 0;
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while (length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+            }
+        }
+        return length > MAX_BODY_BYTES ? null : new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Value of a string field of a flat JSON object, enough for the request bodies of this API.
+     *
+     * @return null if the field is missing, not a string or holds escapes
+     */
+    static String stringField(String json, String name) {
+        int at = json.indexOf('"' + name + '"');
+        if (at < 0) {
+            return null;
+        }
+        int i = skipSpaces(json, at + name.length() + 2);
+        if (i >= json.length() || json.charAt(i) != ':') {
+            return null;
+        }
+        i = skipSpaces(json, i + 1);
+        if (i >= json.length() || json.charAt(i) != '"') {
+            return null;
+        }
+        int end = json.indexOf('"', i + 1);
+        int escape = json.indexOf('\\', i + 1);
+        if (end < 0 || (escape >= 0 && escape < end)) {
+            return null;
+        }
+        return json.substring(i + 1, end);
+    }
+
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String queryValue(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return pair.substring(separator + 1);
+            }
+        }
+        return null;
+    }
+
+    static String formatId(long id) {
+        return String.format("%016x", id);
+    }
+
+    // -1 for anything that isn't 16 hex digits
+    static long parseId(String text) {
+        if (text.length() != 16) {
+            return -1;
+        }
+        try {
+            return Long.parseUnsignedLong(text, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.waquwex.wordgame.Server;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Dictionary.WordListFormat;
+import com.waquwex.wordgame.Game.GameSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Command line entry point of the game server
+public final class ServerMain {
+    private static final String USAGE = String.join("\n",
+            "Usage: server --words FILE [options]",
+            "  --words FILE       Word list, one word per line, or a compiled .bin list",
+            "  --port N           Port to listen on (default 8080)",
+            "  --games N          Games kept at once (default 100000)",
+            "  --rows N           Guesses per game, up to 127 (default 6)",
+            "  --ttl-minutes N    Games not played for this long are dropped (default 60)",
+            "  --seed N           Seed of the endless word order (default: random)");
+    private static final int BACKLOG = 1024;
+
+    private ServerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // The JDK server writes headers and body separately, with Nagle's algorithm on the body
+        // waits for the client's delayed ACK (40 ms on Linux). Read when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        String words = null;
+        int port = 8080;
+        int games = 100_000;
+        int rows = GameSession.DEFAULT_MAX_ROWS;
+        long ttlMinutes = 60;
+        long seed = new Random().nextLong();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    usage("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--words":
+                        words = value;
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value);
+                        break;
+                    case "--games":
+                        games = Integer.parseInt(value);
+                        break;
+                    case "--rows":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "--ttl-minutes":
+                        ttlMinutes = Long.parseLong(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        usage("Unknown option " + option);
+                }
+            }
+        } catch (NumberFormatException e) {
+            usage("Not a number: " + e.getMessage());
+        }
+        if (words == null) {
+            usage("--words is required");
+        }
+        if (games <= 0 || rows <= 0 || ttlMinutes <= 0) {
+            usage("--games, --rows and --ttl-minutes must be positive");
+        }
+        // Row counts are stored as bytes
+        if (rows > Byte.MAX_VALUE) {
+            usage("--rows must be at most " + Byte.MAX_VALUE);
+        }
+
+        WordDictionary dictionary = load(Paths.get(words));
+        if (dictionary.size() == 0) {
+            usage("No valid words in " + words);
+        }
+        SessionStore store = new SessionStore(dictionary, games, rows, TimeUnit.MINUTES.toMillis(ttlMinutes));
+        GameServer server = new GameServer(store, seed);
+        server.start(new InetSocketAddress(port), BACKLOG);
+        System.out.println("Serving " + dictionary.size() + " words on port " + server.getPort());
+    }
+
+    // Words the app would drop are skipped, compiled lists are read like the asset
+    static WordDictionary load(Path path) throws IOException {
+        if (path.toString().endsWith(".bin")) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return WordListFormat.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        return WordDictionary.fromWords(Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
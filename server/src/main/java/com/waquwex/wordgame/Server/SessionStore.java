@@ -0,0 +1,315 @@
+package com.waquwex.wordgame.Server;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Game.HardModeConstraints;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Every game being played on the server, as parallel primitive arrays sized up front: an answer,
+// the guess codes, a row count, a status, flags and the hard mode constraints per slot, under
+// 70 bytes per game of six rows. Feedback isn't stored, GuessScorer.score gives it back in a few
+// nanoseconds.
+//
+// A session id is its slot in the low 32 bits and a random token in the high ones, so ids can't
+// be guessed and an id of an expired game never reaches the game that reuses its slot. Tokens
+// come from ThreadLocalRandom through a hash keyed once from SecureRandom, which would lock and
+// may block on entropy for every game. Slots are guarded by lock stripes (ReentrantLock, which
+// doesn't pin a virtual thread) and the rules are the ones of GameSession.submitCode, hard mode
+// included.
+public final class SessionStore {
+    private static final int LOCK_STRIPES = 256;
+    private static final byte FLAG_HARD_MODE = 1;
+    private static final GameSession.Status[] STATUSES = GameSession.Status.values();
+
+    private final WordDictionary dictionary;
+    private final int capacity;
+    private final int maxRows;
+    private final long ttlMillis;
+    private final int[] tokens;
+    private final int[] answerCodes;
+    // Slot major, maxRows per slot
+    private final int[] guessCodes;
+    private final byte[] rowCounts;
+    private final byte[] statuses;
+    private final byte[] flags;
+    private final long[] lastUsedMillis;
+    // HardModeConstraints state per slot, only kept up to date in hard mode
+    private final int[] greenMasks;
+    private final int[] greenCodes;
+    private final long[] minCountsLow;
+    private final long[] minCountsHigh;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    // One per lock stripe, loaded from and stored back to a slot's arrays under its lock
+    private final HardModeConstraints[] constraints = new HardModeConstraints[LOCK_STRIPES];
+    // Free slots as a stack, guarded by freeLock
+    private final ReentrantLock freeLock = new ReentrantLock();
+    private final int[] freeSlots;
+    private int freeCount;
+    private final long tokenKey = new SecureRandom().nextLong();
+
+    // Snapshot of one game, filled under the game's lock
+    public static final class View {
+        public final int[] guessCodes;
+        public final int[] feedbacks;
+        public int rowCount;
+        public GameSession.Status status;
+        public boolean hardMode;
+        // Only set once the game is over, WordCodec.INVALID before
+        public int answerCode;
+
+        public View(int maxRows) {
+            guessCodes = new int[maxRows];
+            feedbacks = new int[maxRows];
+        }
+    }
+
+    /**
+     * @param capacity  Games kept at once
+     * @param ttlMillis Games not played for this long are dropped by expire
+     */
+    public SessionStore(WordDictionary dictionary, int capacity, int maxRows, long ttlMillis) {
+        if (capacity <= 0 || maxRows <= 0 || maxRows > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity and maxRows must be positive");
+        }
+        this.dictionary = dictionary;
+        this.capacity = capacity;
+        this.maxRows = maxRows;
+        this.ttlMillis = ttlMillis;
+        tokens = new int[capacity];
+        answerCodes = new int[capacity];
+        guessCodes = new int[capacity * maxRows];
+        rowCounts = new byte[capacity];
+        statuses = new byte[capacity];
+        flags = new byte[capacity];
+        lastUsedMillis = new long[capacity];
+        greenMasks = new int[capacity];
+        greenCodes = new int[capacity];
+        minCountsLow = new long[capacity];
+        minCountsHigh = new long[capacity];
+        freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            constraints[i] = new HardModeConstraints();
+        }
+    }
+
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    // Games being kept, finished ones included until they expire
+    public int size() {
+        freeLock.lock();
+        try {
+            return capacity - freeCount;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a game. When the store is full, games idle for longer than the ttl are dropped first.
+     *
+     * @param answerCode Packed answer (WordCodec), must be in the dictionary
+     * @return Id of the game, -1 if the store is still full
+     */
+    public long create(int answerCode, boolean hardMode, long nowMillis) {
+        if (!dictionary.containsCode(answerCode)) {
+            throw new IllegalArgumentException("Answer is not in the dictionary");
+        }
+        int slot = takeSlot();
+        if (slot < 0 && expire(nowMillis) > 0) {
+            slot = takeSlot();
+        }
+        if (slot < 0) {
+            return -1;
+        }
+        int token = nextToken();
+        ReentrantLock lock = lockOf(slot);
+        lock.lock();
+        try {
+            tokens[slot] = token;
+            answerCodes[slot] = answerCode;
+            rowCounts[slot] = 0;
+            statuses[slot] = (byte) GameSession.Status.IN_PROGRESS.ordinal();
+            flags[slot] = hardMode ? FLAG_HARD_MODE : 0;
+            lastUsedMillis[slot] = nowMillis;
+            greenMasks[slot] = 0;
+            greenCodes[slot] = 0;
+            minCountsLow[slot] = 0;
+            minCountsHigh[slot] = 0;
+        } finally {
+            lock.unlock();
+        }
+        return ((long) token << 32) | slot;
+    }
+
+    /**
+     * Plays a guess, with the rules of GameSession.submitCode.
+     *
+     * @param view Filled with the game after the guess
+     * @return null if there is no game with this id
+     */
+    public GameSession.SubmitResult submit(long id, int guessCode, long nowMillis, View view) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return null;
+        }
+        ReentrantLock lock = lockOf(slot);
+        lock.lock();
+        try {
+            if (tokens[slot] != (int) (id >>> 32)) {
+                return null;
+            }
+            lastUsedMillis[slot] = nowMillis;
+            GameSession.SubmitResult result = play(slot, guessCode);
+            fill(slot, view);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if there is no game with this id
+     */
+    public boolean read(long id, View view) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        ReentrantLock lock = lockOf(slot);
+        lock.lock();
+        try {
+            if (tokens[slot] != (int) (id >>> 32)) {
+                return false;
+            }
+            fill(slot, view);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops games not played for longer than the ttl, returns how many
+    public int expire(long nowMillis) {
+        int expired = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            ReentrantLock lock = lockOf(slot);
+            lock.lock();
+            try {
+                if (tokens[slot] == 0 || nowMillis - lastUsedMillis[slot] <= ttlMillis) {
+                    continue;
+                }
+                tokens[slot] = 0;
+            } finally {
+                lock.unlock();
+            }
+            releaseSlot(slot);
+            expired++;
+        }
+        return expired;
+    }
+
+    // Called with the slot's lock held
+    private GameSession.SubmitResult play(int slot, int guessCode) {
+        if (statuses[slot] != GameSession.Status.IN_PROGRESS.ordinal()) {
+            return GameSession.SubmitResult.GAME_OVER;
+        }
+        if (guessCode == WordCodec.INVALID || !dictionary.containsCode(guessCode)) {
+            return GameSession.SubmitResult.INVALID_WORD;
+        }
+        int rows = rowCounts[slot];
+        int answerCode = answerCodes[slot];
+        int first = slot * maxRows;
+        int feedback = GuessScorer.score(guessCode, answerCode);
+        if ((flags[slot] & FLAG_HARD_MODE) != 0) {
+            HardModeConstraints hardMode = constraints[slot % LOCK_STRIPES];
+            hardMode.set(greenMasks[slot], greenCodes[slot], minCountsLow[slot], minCountsHigh[slot]);
+            if (!hardMode.allows(guessCode)) {
+                return GameSession.SubmitResult.MISSES_HINT;
+            }
+            hardMode.apply(guessCode, feedback);
+            greenMasks[slot] = hardMode.getGreenMask();
+            greenCodes[slot] = hardMode.getGreenCode();
+            minCountsLow[slot] = hardMode.getMinCountsLow();
+            minCountsHigh[slot] = hardMode.getMinCountsHigh();
+        }
+
+        guessCodes[first + rows] = guessCode;
+        rowCounts[slot] = (byte) (rows + 1);
+        if (feedback == GuessScorer.ALL_CORRECT) {
+            statuses[slot] = (byte) GameSession.Status.WON.ordinal();
+            return GameSession.SubmitResult.WON;
+        }
+        if (rows + 1 == maxRows) {
+            statuses[slot] = (byte) GameSession.Status.LOST.ordinal();
+            return GameSession.SubmitResult.LOST;
+        }
+        return GameSession.SubmitResult.ACCEPTED;
+    }
+
+    private void fill(int slot, View view) {
+        int rows = rowCounts[slot];
+        int first = slot * maxRows;
+        for (int row = 0; row < rows; row++) {
+            view.guessCodes[row] = guessCodes[first + row];
+            view.feedbacks[row] = GuessScorer.score(guessCodes[first + row], answerCodes[slot]);
+        }
+        view.rowCount = rows;
+        view.status = STATUSES[statuses[slot]];
+        view.hardMode = (flags[slot] & FLAG_HARD_MODE) != 0;
+        boolean over = view.status == GameSession.Status.WON || view.status == GameSession.Status.LOST;
+        view.answerCode = over ? answerCodes[slot] : WordCodec.INVALID;
+    }
+
+    // Never 0, the token of a free slot. The key keeps tokens of one thread's random sequence
+    // from giving away the next ones.
+    private int nextToken() {
+        long z = ThreadLocalRandom.current().nextLong() ^ tokenKey;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31)) | 1;
+    }
+
+    // -1 unless id could belong to a game, tokens of free slots are 0
+    private int slotOf(long id) {
+        int slot = (int) id;
+        return slot >= 0 && slot < capacity && (int) (id >>> 32) != 0 ? slot : -1;
+    }
+
+    private ReentrantLock lockOf(int slot) {
+        return locks[slot % LOCK_STRIPES];
+    }
+
+    private int takeSlot() {
+        freeLock.lock();
+        try {
+            return freeCount > 0 ? freeSlots[--freeCount] : -1;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    private void releaseSlot(int slot) {
+        freeLock.lock();
+        try {
+            freeSlots[freeCount++] = slot;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.waquwex.wordgame.Server;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+// Checks the API over loopback. The load test plays games from many clients at once, then
+// reports request latency percentiles and finished sessions per second (see LoadTest).
+public class GameServerLoadTest {
+    private static final int CLIENTS = 200;
+    private static final int GAMES_PER_CLIENT = 10;
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f]{16})\"");
+    private static final Pattern ANSWER = Pattern.compile("\"answer\":\"([A-Z]{5})\"");
+    private static final Pattern STATUS = Pattern.compile("\"status\":\"([A-Z_]+)\"");
+
+    private WordDictionary dictionary;
+    private GameServer server;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        String wordList = System.getProperty("wordgame.wordList", "../app/src/main/words/word_list.txt");
+        dictionary = ServerMain.load(Paths.get(wordList));
+        // Room for the warm up games too
+        SessionStore store = new SessionStore(dictionary, 2 * CLIENTS * GAMES_PER_CLIENT,
+                GameSession.DEFAULT_MAX_ROWS, TimeUnit.HOURS.toMillis(1));
+        server = new GameServer(store, 1);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        baseUrl = "http://127.0.0.1:" + server.getPort() + "/games";
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        clientExecutor.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    public void api_reportsErrors() throws Exception {
+        HttpResponse<String> created = post(baseUrl + "?day=20000&hard=true", "");
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().contains("\"hardMode\":true"));
+        String game = baseUrl + "/" + match(ID, created.body());
+
+        assertEquals(422, post(game + "/guesses", "{\"guess\": \"qqqqq\"}").statusCode());
+        assertEquals(400, post(game + "/guesses", "{\"word\": \"crane\"}").statusCode());
+        assertEquals(404, post(baseUrl + "/0000000000000000/guesses", "{\"guess\":\"crane\"}").statusCode());
+        assertEquals(405, get(baseUrl).statusCode());
+
+        // The daily word is the same for every game of that day
+        assertEquals(playOut(post(baseUrl + "?day=20000", "")), playOut(post(baseUrl + "?day=20000", "")));
+        assertEquals(200, get(game).statusCode());
+    }
+
+    @Test
+    @Category(LoadTest.class)
+    public void load_playsGamesConcurrently() throws Exception {
+        // Warm up the server and client code paths before measuring
+        playGames(20, 2, new Random(1));
+
+        long start = System.nanoTime();
+        long[] latencies = playGames(CLIENTS, GAMES_PER_CLIENT, new Random(2));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        int sessions = CLIENTS * GAMES_PER_CLIENT;
+        System.out.printf(Locale.ROOT, "Clients    %d, %d games each%n", CLIENTS, GAMES_PER_CLIENT);
+        System.out.printf(Locale.ROOT, "Sessions   %d in %.2f s (%.0f sessions/s)%n",
+                sessions, seconds, sessions / seconds);
+        System.out.printf(Locale.ROOT, "Requests   %d (%.0f requests/s)%n",
+                latencies.length, latencies.length / seconds);
+        System.out.printf(Locale.ROOT, "Latency    p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    // Every client starts games and guesses random words until each one is over.
+    // Returns the latency of every request in nanoseconds.
+    private long[] playGames(int clients, int gamesPerClient, Random seeds) throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = seeds.nextLong();
+            results.add(executor.submit(() -> playClient(gamesPerClient, new Random(seed))));
+        }
+        long[][] perClient = new long[clients][];
+        int total = 0;
+        for (int c = 0; c < clients; c++) {
+            perClient[c] = results.get(c).get();
+            total += perClient[c].length;
+        }
+        executor.shutdown();
+
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (long[] client : perClient) {
+            System.arraycopy(client, 0, latencies, offset, client.length);
+            offset += client.length;
+        }
+        return latencies;
+    }
+
+    private long[] playClient(int games, Random random) throws Exception {
+        long[] latencies = new long[games * (GameSession.DEFAULT_MAX_ROWS + 1)];
+        int requests = 0;
+        for (int game = 0; game < games; game++) {
+            long start = System.nanoTime();
+            HttpResponse<String> created = post(baseUrl, "");
+            latencies[requests++] = System.nanoTime() - start;
+            assertEquals(201, created.statusCode());
+            String guesses = baseUrl + "/" + match(ID, created.body()) + "/guesses";
+
+            String status = "IN_PROGRESS";
+            for (int row = 0; row < GameSession.DEFAULT_MAX_ROWS && status.equals("IN_PROGRESS"); row++) {
+                String guess = WordCodec.unpack(dictionary.codeAt(random.nextInt(dictionary.size())));
+                start = System.nanoTime();
+                HttpResponse<String> played = post(guesses, "{\"guess\":\"" + guess + "\"}");
+                latencies[requests++] = System.nanoTime() - start;
+                assertEquals(200, played.statusCode());
+                status = match(STATUS, played.body());
+            }
+            assertNotEquals("IN_PROGRESS", status);
+        }
+        return Arrays.copyOf(latencies, requests);
+    }
+
+    // Guesses the first words of the list until the game is over, returns its answer
+    private String playOut(HttpResponse<String> created) throws Exception {
+        String guesses = baseUrl + "/" + match(ID, created.body()) + "/guesses";
+        HttpResponse<String> played = null;
+        for (int row = 0; row < GameSession.DEFAULT_MAX_ROWS; row++) {
+            played = post(guesses, "{\"guess\":\"" + dictionary.wordAt(row) + "\"}");
+            if (!match(STATUS, played.body()).equals("IN_PROGRESS")) {
+                break;
+            }
+        }
+        return match(ANSWER, played.body());
+    }
+
+    private HttpResponse<String> post(String url, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String match(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        assertTrue(body, matcher.find());
+        return matcher.group(1);
+    }
+
+    // Nearest rank
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,6 @@
+package com.waquwex.wordgame.Server;
+
+// JUnit category of tests that measure instead of check, left out of :server:test and run by
+// the loadTest task
+public interface LoadTest {
+}
@@ -0,0 +1,83 @@
+package com.waquwex.wordgame.Server;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SessionStoreTest {
+    private static final WordDictionary DICTIONARY = WordDictionary.fromWords(
+            Arrays.asList("CRANE", "SLATE", "STAIR", "FJORD", "ZONAL", "CRATE", "TRACE"));
+
+    private static int code(String word) {
+        return WordCodec.pack(word);
+    }
+
+    @Test
+    public void submit_followsGameSessionRules() {
+        SessionStore store = new SessionStore(DICTIONARY, 4, 3, 1000);
+        SessionStore.View view = new SessionStore.View(3);
+        long won = store.create(code("CRATE"), false, 0);
+
+        assertEquals(GameSession.SubmitResult.INVALID_WORD, store.submit(won, code("QQQQQ"), 0, view));
+        assertEquals(GameSession.SubmitResult.ACCEPTED, store.submit(won, code("CRANE"), 0, view));
+        assertEquals(1, view.rowCount);
+        assertEquals(GuessScorer.score(code("CRANE"), code("CRATE")), view.feedbacks[0]);
+        assertEquals(WordCodec.INVALID, view.answerCode);
+        assertEquals(GameSession.SubmitResult.WON, store.submit(won, code("CRATE"), 0, view));
+        assertEquals(GameSession.Status.WON, view.status);
+        assertEquals(code("CRATE"), view.answerCode);
+        assertEquals(GameSession.SubmitResult.GAME_OVER, store.submit(won, code("SLATE"), 0, view));
+
+        long lost = store.create(code("FJORD"), false, 0);
+        store.submit(lost, code("CRANE"), 0, view);
+        store.submit(lost, code("SLATE"), 0, view);
+        assertEquals(GameSession.SubmitResult.LOST, store.submit(lost, code("ZONAL"), 0, view));
+        assertTrue(store.read(lost, view));
+        assertEquals(3, view.rowCount);
+
+        // Same rule as GameSession, CRANE revealed green C, R and A
+        long hard = store.create(code("CRATE"), true, 0);
+        store.submit(hard, code("CRANE"), 0, view);
+        assertEquals(GameSession.SubmitResult.MISSES_HINT, store.submit(hard, code("SLATE"), 0, view));
+        assertEquals(1, view.rowCount);
+        assertTrue(view.hardMode);
+        assertEquals(GameSession.SubmitResult.MISSES_HINT, store.submit(hard, code("TRACE"), 0, view));
+        assertEquals(GameSession.SubmitResult.WON, store.submit(hard, code("CRATE"), 0, view));
+
+        // A game reusing a slot starts without hints
+        SessionStore reused = new SessionStore(DICTIONARY, 1, 3, 0);
+        long first = reused.create(code("CRATE"), true, 0);
+        reused.submit(first, code("CRANE"), 0, view);
+        long second = reused.create(code("FJORD"), true, 1);
+        assertEquals((int) first, (int) second);
+        assertEquals(GameSession.SubmitResult.ACCEPTED, reused.submit(second, code("SLATE"), 1, view));
+    }
+
+    @Test
+    public void expire_freesSlotsAndForgetsTheirIds() {
+        SessionStore store = new SessionStore(DICTIONARY, 2, 6, 1000);
+        SessionStore.View view = new SessionStore.View(6);
+        long first = store.create(code("CRANE"), false, 0);
+        long second = store.create(code("SLATE"), false, 500);
+        assertEquals(-1, store.create(code("STAIR"), false, 1000));
+        assertEquals(2, store.size());
+
+        // Only the first game has been idle for longer than the ttl
+        long third = store.create(code("STAIR"), false, 1200);
+        assertNotEquals(-1, third);
+        assertEquals((int) first, (int) third);
+        assertFalse(store.read(first, view));
+        assertNull(store.submit(first, code("CRANE"), 1200, view));
+        assertTrue(store.read(second, view));
+        assertTrue(store.read(third, view));
+        assertEquals(GameSession.Status.IN_PROGRESS, view.status);
+        assertFalse(store.read(third ^ (1L << 40), view));
+    }
+}
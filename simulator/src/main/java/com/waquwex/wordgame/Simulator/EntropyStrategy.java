@@ -0,0 +1,52 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Scoring.GuessScorer;
+import com.waquwex.wordgame.Solver.EntropySolver;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Plays the EntropySolver hint without a time limit. The solver is deterministic, so its guess
+// only depends on the feedback of the rows before it: decisions are shared between games (and
+// threads) keyed by that feedback path. The opener is solved once instead of once per answer,
+// the second guess at most once per first feedback and so on.
+public final class EntropyStrategy implements GuessStrategy {
+    // Longest feedback path that fits a cache key
+    private static final int MAX_CACHED_ROWS = 6;
+
+    private final EntropySolver solver;
+    private final WordDictionary dictionary;
+    private final ConcurrentHashMap<Long, Integer> decisions;
+
+    /**
+     * @param solver    Solver of the simulated dictionary
+     * @param decisions Shared by the strategies of all worker threads of one simulation
+     */
+    public EntropyStrategy(EntropySolver solver, WordDictionary dictionary, ConcurrentHashMap<Long, Integer> decisions) {
+        this.solver = solver;
+        this.dictionary = dictionary;
+        this.decisions = decisions;
+    }
+
+    @Override
+    public int nextGuess(GameSession session) {
+        if (session.getRowCount() > MAX_CACHED_ROWS) {
+            return dictionary.codeAt(solver.solve(session.getCandidates(), Long.MAX_VALUE).guessIndex);
+        }
+        // Feedback path in base 243, 243^6 still fits in the low 48 bits with the row count above
+        long path = 0;
+        for (int row = session.getRowCount() - 1; row >= 0; row--) {
+            path = path * GuessScorer.FEEDBACK_COUNT + session.getFeedback(row);
+        }
+        long key = ((long) session.getRowCount() << 56) | path;
+
+        Integer decision = decisions.get(key);
+        if (decision == null) {
+            int guessIndex = solver.solve(session.getCandidates(), Long.MAX_VALUE).guessIndex;
+            Integer previous = decisions.putIfAbsent(key, guessIndex);
+            decision = previous != null ? previous : guessIndex;
+        }
+        return dictionary.codeAt(decision);
+    }
+}
@@ -0,0 +1,13 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Game.GameSession;
+
+// Always guesses the alphabetically first answer that is still possible.
+// A baseline that only uses the feedback rules, nothing smarter.
+public final class FirstCandidateStrategy implements GuessStrategy {
+    @Override
+    public int nextGuess(GameSession session) {
+        int word = session.getCandidates().nextCandidate(0);
+        return session.getDictionary().codeAt(word);
+    }
+}
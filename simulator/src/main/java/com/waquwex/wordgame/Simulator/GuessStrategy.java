@@ -0,0 +1,13 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Game.GameSession;
+
+// Picks guesses for the simulator. Every worker thread gets its own instance,
+// so implementations may keep scratch state without locking.
+public interface GuessStrategy {
+    /**
+     * @param session Game in progress, created with a CandidateIndex
+     * @return Packed guess (WordCodec) for the next row, must be in the dictionary
+     */
+    int nextGuess(GameSession session);
+}
@@ -0,0 +1,40 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Solver.CandidateSet;
+
+// Guesses a random answer that is still possible, roughly how a casual player plays.
+// The choice is a hash of the seed and the rows played so far, so a game gives the same
+// guesses whichever thread plays it and in whatever order.
+public final class RandomCandidateStrategy implements GuessStrategy {
+    private final long seed;
+
+    public RandomCandidateStrategy(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public int nextGuess(GameSession session) {
+        long hash = seed;
+        for (int row = 0; row < session.getRowCount(); row++) {
+            hash = mix(hash ^ session.getGuessCode(row));
+            hash = mix(hash ^ session.getFeedback(row));
+        }
+
+        CandidateSet candidates = session.getCandidates();
+        int skip = (int) ((mix(hash) >>> 1) % candidates.size());
+        int word = candidates.nextCandidate(0);
+        for (int i = 0; i < skip; i++) {
+            word = candidates.nextCandidate(word + 1);
+        }
+        return session.getDictionary().codeAt(word);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value += 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
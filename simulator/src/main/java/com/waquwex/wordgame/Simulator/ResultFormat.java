@@ -0,0 +1,79 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Game.GameSession;
+
+// One line per simulated game: the answer, rows used, whether it was solved and the guesses
+public enum ResultFormat {
+    // answer,guesses,solved,path
+    CSV {
+        @Override
+        String header() {
+            return "answer,guesses,solved,path\n";
+        }
+
+        @Override
+        void append(StringBuilder out, GameSession session) {
+            appendWord(out, session.getAnswerCode());
+            out.append(',').append(session.getRowCount())
+                    .append(',').append(session.getStatus() == GameSession.Status.WON)
+                    .append(',');
+            for (int row = 0; row < session.getRowCount(); row++) {
+                if (row > 0) {
+                    out.append(' ');
+                }
+                appendWord(out, session.getGuessCode(row));
+            }
+            out.append('\n');
+        }
+    },
+    // {"answer":"...","guesses":n,"solved":true,"path":["...",...]}
+    JSON_LINES {
+        @Override
+        String header() {
+            return "";
+        }
+
+        @Override
+        void append(StringBuilder out, GameSession session) {
+            out.append("{\"answer\":\"");
+            appendWord(out, session.getAnswerCode());
+            out.append("\",\"guesses\":").append(session.getRowCount())
+                    .append(",\"solved\":").append(session.getStatus() == GameSession.Status.WON)
+                    .append(",\"path\":[");
+            for (int row = 0; row < session.getRowCount(); row++) {
+                if (row > 0) {
+                    out.append(',');
+                }
+                out.append('"');
+                appendWord(out, session.getGuessCode(row));
+                out.append('"');
+            }
+            out.append("]}\n");
+        }
+    };
+
+    abstract String header();
+
+    // Appends the line of a finished game
+    abstract void append(StringBuilder out, GameSession session);
+
+    // Letters only, so words never need quoting or escaping
+    private static void appendWord(StringBuilder out, int code) {
+        for (int position = 0; position < WordCodec.WORD_LENGTH; position++) {
+            out.append((char) ('A' + WordCodec.letterAt(code, position)));
+        }
+    }
+
+    // "csv" or "jsonl", null if unknown
+    public static ResultFormat fromName(String name) {
+        switch (name) {
+            case "csv":
+                return CSV;
+            case "jsonl":
+                return JSON_LINES;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.waquwex.wordgame.Simulator;
+
+import java.util.Arrays;
+
+// Guess distribution of simulated games. Each worker thread records into its own instance,
+// they are merged once the simulation is over.
+public final class SimulationStats {
+    // Worst answers kept for the report
+    public static final int WORST_LIMIT = 10;
+
+    private final int maxRows;
+    // Games solved with index guesses
+    private final long[] solvedIn;
+    private long failures;
+    // Failures score maxRows + 1
+    private int worstScore;
+    private long worstCount;
+    // Alphabetically first answers with worstScore, sorted, so the report doesn't depend on threads
+    private final int[] worstAnswers = new int[WORST_LIMIT];
+    private int worstKept;
+
+    public SimulationStats(int maxRows) {
+        this.maxRows = maxRows;
+        this.solvedIn = new long[maxRows + 1];
+    }
+
+    /**
+     * @param answerCode Packed answer of the game
+     * @param rows       Rows played
+     * @param solved     Whether the last row was the answer
+     */
+    public void record(int answerCode, int rows, boolean solved) {
+        int score;
+        if (solved) {
+            solvedIn[rows]++;
+            score = rows;
+        } else {
+            failures++;
+            score = maxRows + 1;
+        }
+        addWorst(score, answerCode, 1);
+    }
+
+    public void merge(SimulationStats other) {
+        if (other.maxRows != maxRows) {
+            throw new IllegalArgumentException("Stats of different row counts");
+        }
+        for (int rows = 0; rows < solvedIn.length; rows++) {
+            solvedIn[rows] += other.solvedIn[rows];
+        }
+        failures += other.failures;
+        if (other.worstCount == 0) {
+            return;
+        }
+        // Answers other had to drop still count
+        addWorst(other.worstScore, other.worstAnswers[0], other.worstCount - other.worstKept + 1);
+        for (int i = 1; i < other.worstKept; i++) {
+            addWorst(other.worstScore, other.worstAnswers[i], 1);
+        }
+    }
+
+    private void addWorst(int score, int answerCode, long count) {
+        if (score < worstScore) {
+            return;
+        }
+        if (score > worstScore) {
+            worstScore = score;
+            worstCount = 0;
+            worstKept = 0;
+        }
+        worstCount += count;
+        // Insert sorted, dropping the last answer when full
+        int position = worstKept;
+        while (position > 0 && worstAnswers[position - 1] > answerCode) {
+            position--;
+        }
+        if (position == WORST_LIMIT) {
+            return;
+        }
+        int moved = Math.min(worstKept, WORST_LIMIT - 1) - position;
+        System.arraycopy(worstAnswers, position, worstAnswers, position + 1, moved);
+        worstAnswers[position] = answerCode;
+        worstKept = Math.min(worstKept + 1, WORST_LIMIT);
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getGames() {
+        return getSolved() + failures;
+    }
+
+    public long getSolved() {
+        long solved = 0;
+        for (long count : solvedIn) {
+            solved += count;
+        }
+        return solved;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    // Games solved with exactly rows guesses
+    public long getSolvedIn(int rows) {
+        return solvedIn[rows];
+    }
+
+    // Share of games not solved within maxRows, 0 when nothing was played
+    public double getFailureRate() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) failures / games;
+    }
+
+    // Average guesses of the solved games
+    public double getAverageGuesses() {
+        long solved = 0;
+        long guesses = 0;
+        for (int rows = 0; rows < solvedIn.length; rows++) {
+            solved += solvedIn[rows];
+            guesses += rows * solvedIn[rows];
+        }
+        return solved == 0 ? 0 : (double) guesses / solved;
+    }
+
+    // Guesses of the worst game, maxRows + 1 if any game failed
+    public int getWorstScore() {
+        return worstScore;
+    }
+
+    // Games with the worst score, may be more than getWorstAnswers returns
+    public long getWorstCount() {
+        return worstCount;
+    }
+
+    // Up to WORST_LIMIT packed answers with the worst score, alphabetically
+    public int[] getWorstAnswers() {
+        return Arrays.copyOf(worstAnswers, worstKept);
+    }
+}
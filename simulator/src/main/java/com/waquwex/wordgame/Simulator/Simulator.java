@@ -0,0 +1,153 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Game.GameSession;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Plays every word of a dictionary as the answer with the same rules as the app (GameSession).
+// Worker threads take chunks of answers, each with its own session and strategy, and hand
+// every finished chunk to the writer as one block of lines, so results stream out while the
+// simulation runs and memory use doesn't grow with the dictionary. Lines of different chunks
+// may be interleaved in any order.
+public final class Simulator {
+    // Answers per work item, also the granularity of output writes
+    private static final int ANSWERS_PER_CHUNK = 64;
+
+    private final WordDictionary dictionary;
+    private final CandidateIndex candidateIndex;
+    private final int maxRows;
+    private final Supplier<GuessStrategy> strategyFactory;
+    private final int openerCode;
+    private final int threads;
+
+    /**
+     * @param candidateIndex  Index of dictionary, shared read only by all workers
+     * @param strategyFactory Called once per worker thread
+     * @param openerCode      First guess of every game, WordCodec.INVALID to let the strategy pick it
+     */
+    public Simulator(CandidateIndex candidateIndex, int maxRows, Supplier<GuessStrategy> strategyFactory,
+                     int openerCode, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.dictionary = candidateIndex.getDictionary();
+        if (openerCode != WordCodec.INVALID && !dictionary.containsCode(openerCode)) {
+            throw new IllegalArgumentException("Opener is not in the dictionary");
+        }
+        this.candidateIndex = candidateIndex;
+        this.maxRows = maxRows;
+        this.strategyFactory = strategyFactory;
+        this.openerCode = openerCode;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays one game per dictionary word.
+     *
+     * @param out    Receives one line per game, null to only collect stats
+     * @param format Line format of out
+     */
+    public SimulationStats run(Writer out, ResultFormat format) throws IOException, InterruptedException {
+        if (out != null) {
+            out.write(format.header());
+        }
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        int chunkCount = (dictionary.size() + ANSWERS_PER_CHUNK - 1) / ANSWERS_PER_CHUNK;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayList<Future<SimulationStats>> workers = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(new Worker(nextChunk, chunkCount, out, format)));
+            }
+            SimulationStats stats = new SimulationStats(maxRows);
+            for (Future<SimulationStats> worker : workers) {
+                stats.merge(worker.get());
+            }
+            if (out != null) {
+                out.flush();
+            }
+            return stats;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private final class Worker implements Callable<SimulationStats> {
+        private final AtomicInteger nextChunk;
+        private final int chunkCount;
+        private final Writer out;
+        private final ResultFormat format;
+
+        Worker(AtomicInteger nextChunk, int chunkCount, Writer out, ResultFormat format) {
+            this.nextChunk = nextChunk;
+            this.chunkCount = chunkCount;
+            this.out = out;
+            this.format = format;
+        }
+
+        @Override
+        public SimulationStats call() throws IOException {
+            GameSession session = new GameSession(dictionary, candidateIndex, maxRows);
+            GuessStrategy strategy = strategyFactory.get();
+            SimulationStats stats = new SimulationStats(maxRows);
+            StringBuilder lines = new StringBuilder();
+
+            for (int chunk = nextChunk.getAndIncrement(); chunk < chunkCount; chunk = nextChunk.getAndIncrement()) {
+                int end = Math.min(dictionary.size(), (chunk + 1) * ANSWERS_PER_CHUNK);
+                for (int answer = chunk * ANSWERS_PER_CHUNK; answer < end; answer++) {
+                    play(session, strategy, dictionary.codeAt(answer));
+                    stats.record(session.getAnswerCode(), session.getRowCount(),
+                            session.getStatus() == GameSession.Status.WON);
+                    if (out != null) {
+                        format.append(lines, session);
+                    }
+                }
+                if (out != null) {
+                    synchronized (out) {
+                        out.append(lines);
+                    }
+                    lines.setLength(0);
+                }
+                if (Thread.interrupted()) {
+                    break;
+                }
+            }
+            return stats;
+        }
+
+        private void play(GameSession session, GuessStrategy strategy, int answerCode) {
+            session.start(answerCode);
+            GameSession.SubmitResult result = GameSession.SubmitResult.ACCEPTED;
+            while (result == GameSession.SubmitResult.ACCEPTED) {
+                int guess = session.getRowCount() == 0 && openerCode != WordCodec.INVALID
+                        ? openerCode : strategy.nextGuess(session);
+                result = session.submitCode(guess);
+                if (result == GameSession.SubmitResult.INVALID_WORD) {
+                    throw new IllegalStateException("Strategy guessed a word outside the dictionary");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Dictionary.WordListFormat;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+import com.waquwex.wordgame.Solver.EntropySolver;
+import com.waquwex.wordgame.Solver.FeedbackTable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Command line entry point, used to vet a word list before it replaces src/main/words/word_list.txt
+public final class SimulatorMain {
+    private static final String USAGE = String.join("\n",
+            "Usage: simulator --words FILE [options]",
+            "  --words FILE       Word list, one word per line, or a compiled .bin list",
+            "  --strategy NAME    entropy (default), first or random",
+            "  --opener WORD      First guess of every game",
+            "  --rows N           Guesses per game (default 6)",
+            "  --threads N        Worker threads (default: available processors)",
+            "  --seed N           Seed of the random strategy (default 1)",
+            "  --out FILE         Write one line per game to FILE",
+            "  --format NAME      csv or jsonl (default: from the --out extension, else csv)");
+    // Invalid lines listed before the rest are only counted
+    private static final int LISTED_INVALID_LINES = 10;
+
+    private SimulatorMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String words = null;
+        String strategyName = "entropy";
+        String opener = null;
+        int rows = 6;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        String outPath = null;
+        String formatName = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    usage("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--words":
+                        words = value;
+                        break;
+                    case "--strategy":
+                        strategyName = value;
+                        break;
+                    case "--opener":
+                        opener = value;
+                        break;
+                    case "--rows":
+                        rows = Integer.parseInt(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--out":
+                        outPath = value;
+                        break;
+                    case "--format":
+                        formatName = value;
+                        break;
+                    default:
+                        usage("Unknown option " + option);
+                }
+            }
+        } catch (NumberFormatException e) {
+            usage("Not a number: " + e.getMessage());
+        }
+        if (words == null) {
+            usage("--words is required");
+        }
+        if (rows <= 0 || threads <= 0) {
+            usage("--rows and --threads must be positive");
+        }
+        if (formatName == null) {
+            formatName = outPath != null && outPath.endsWith(".jsonl") ? "jsonl" : "csv";
+        }
+        ResultFormat format = ResultFormat.fromName(formatName);
+        if (format == null) {
+            usage("Unknown format " + formatName);
+        }
+
+        WordDictionary dictionary = load(Paths.get(words));
+        if (dictionary.size() == 0) {
+            usage("No valid words in " + words);
+        }
+        int openerCode = WordCodec.INVALID;
+        if (opener != null) {
+            openerCode = WordCodec.pack(opener);
+            if (!dictionary.containsCode(openerCode)) {
+                usage("Opener " + opener + " is not in the word list");
+            }
+        }
+
+        long start = System.nanoTime();
+        CandidateIndex index = CandidateIndex.build(dictionary);
+        Supplier<GuessStrategy> strategy = strategy(strategyName, dictionary, seed);
+        Simulator simulator = new Simulator(index, rows, strategy, openerCode, threads);
+
+        SimulationStats stats;
+        if (outPath != null) {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get(outPath)),
+                    StandardCharsets.UTF_8), 1 << 16)) {
+                stats = simulator.run(out, format);
+            }
+        } else {
+            stats = simulator.run(null, format);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(stats, strategyName, threads, elapsed);
+    }
+
+    private static Supplier<GuessStrategy> strategy(String name, WordDictionary dictionary, long seed) {
+        switch (name) {
+            case "first":
+                return FirstCandidateStrategy::new;
+            case "random":
+                return () -> new RandomCandidateStrategy(seed);
+            case "entropy":
+                EntropySolver solver = new EntropySolver(dictionary, FeedbackTable.build(dictionary));
+                ConcurrentHashMap<Long, Integer> decisions = new ConcurrentHashMap<>();
+                return () -> new EntropyStrategy(solver, dictionary, decisions);
+            default:
+                usage("Unknown strategy " + name);
+                return null;
+        }
+    }
+
+    // Text lists report the lines the app would drop, compiled lists are read like the asset
+    private static WordDictionary load(Path path) throws IOException {
+        if (path.toString().endsWith(".bin")) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return WordListFormat.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        List<String> valid = new ArrayList<>(lines.size());
+        int invalid = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String word = lines.get(i).trim();
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (WordCodec.pack(word) == WordCodec.INVALID) {
+                if (invalid++ < LISTED_INVALID_LINES) {
+                    System.err.println(path + ":" + (i + 1) + ": not a five letter word: " + word);
+                }
+                continue;
+            }
+            valid.add(word);
+        }
+        WordDictionary dictionary = WordDictionary.fromWords(valid);
+        if (invalid > 0) {
+            System.err.println(invalid + " invalid lines skipped");
+        }
+        if (valid.size() > dictionary.size()) {
+            System.err.println((valid.size() - dictionary.size()) + " duplicate words skipped");
+        }
+        return dictionary;
+    }
+
+    private static void report(SimulationStats stats, String strategy, int threads, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "Strategy   %s, %d threads%n", strategy, threads);
+        System.out.printf(Locale.ROOT, "Games      %d in %.2f s (%.0f games/s)%n",
+                stats.getGames(), seconds, stats.getGames() / seconds);
+        System.out.printf(Locale.ROOT, "Solved     %d, average %.3f guesses%n",
+                stats.getSolved(), stats.getAverageGuesses());
+        System.out.printf(Locale.ROOT, "Failed     %d (%.2f %%) after %d rows%n",
+                stats.getFailures(), 100 * stats.getFailureRate(), stats.getMaxRows());
+        for (int rows = 1; rows <= stats.getMaxRows(); rows++) {
+            System.out.printf(Locale.ROOT, "  %2d  %d%n", rows, stats.getSolvedIn(rows));
+        }
+        System.out.printf(Locale.ROOT, "   X  %d%n", stats.getFailures());
+
+        StringBuilder worst = new StringBuilder();
+        for (int code : stats.getWorstAnswers()) {
+            worst.append(' ').append(WordCodec.unpack(code));
+        }
+        if (stats.getWorstCount() > SimulationStats.WORST_LIMIT) {
+            worst.append(" and ").append(stats.getWorstCount() - SimulationStats.WORST_LIMIT).append(" more");
+        }
+        String worstScore = stats.getWorstScore() > stats.getMaxRows() ? "failed" : stats.getWorstScore() + " guesses";
+        System.out.println("Worst      " + worstScore + ":" + worst);
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.waquwex.wordgame.Simulator;
+
+import com.waquwex.wordgame.Dictionary.WordCodec;
+import com.waquwex.wordgame.Dictionary.WordDictionary;
+import com.waquwex.wordgame.Solver.CandidateIndex;
+import com.waquwex.wordgame.Solver.EntropySolver;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.waquwex.wordgame.Dictionary.RandomWords.randomDictionary;
+import static org.junit.Assert.*;
+
+public class SimulatorTest {
+    private static final String LETTERS = "AEBLSTORNC";
+
+    @Test
+    public void run_playsEveryAnswerOnce() throws Exception {
+        WordDictionary dictionary = randomDictionary(1000, LETTERS, 5);
+        Simulator simulator = new Simulator(CandidateIndex.build(dictionary), 6,
+                () -> new RandomCandidateStrategy(9), WordCodec.INVALID, 4);
+
+        StringWriter out = new StringWriter();
+        SimulationStats stats = simulator.run(out, ResultFormat.CSV);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("answer,guesses,solved,path", lines[0]);
+        assertEquals(dictionary.size() + 1, lines.length);
+        HashSet<String> answers = new HashSet<>();
+        long solved = 0;
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            answers.add(fields[0]);
+            String[] path = fields[3].split(" ");
+            assertEquals(Integer.parseInt(fields[1]), path.length);
+            if (Boolean.parseBoolean(fields[2])) {
+                assertEquals(fields[0], path[path.length - 1]);
+                solved++;
+            }
+        }
+        assertEquals(dictionary.size(), answers.size());
+        assertEquals(dictionary.size(), stats.getGames());
+        assertEquals(solved, stats.getSolved());
+    }
+
+    @Test
+    public void run_givesTheSameStatsOnAnyThreadCount() throws Exception {
+        WordDictionary dictionary = randomDictionary(800, LETTERS, 6);
+        CandidateIndex index = CandidateIndex.build(dictionary);
+        EntropySolver solver = new EntropySolver(dictionary, null);
+
+        SimulationStats[] runs = new SimulationStats[2];
+        for (int run = 0; run < runs.length; run++) {
+            ConcurrentHashMap<Long, Integer> decisions = new ConcurrentHashMap<>();
+            runs[run] = new Simulator(index, 6, () -> new EntropyStrategy(solver, dictionary, decisions),
+                    WordCodec.INVALID, run == 0 ? 1 : 3).run(null, ResultFormat.CSV);
+        }
+        for (int rows = 1; rows <= 6; rows++) {
+            assertEquals(runs[0].getSolvedIn(rows), runs[1].getSolvedIn(rows));
+        }
+        assertEquals(runs[0].getFailures(), runs[1].getFailures());
+        assertArrayEquals(runs[0].getWorstAnswers(), runs[1].getWorstAnswers());
+        assertEquals(runs[0].getWorstCount(), runs[1].getWorstCount());
+    }
+
+    @Test
+    public void run_usesTheOpener() throws Exception {
+        WordDictionary dictionary = randomDictionary(200, LETTERS, 7);
+        int opener = dictionary.codeAt(17);
+        StringWriter out = new StringWriter();
+        new Simulator(CandidateIndex.build(dictionary), 6, FirstCandidateStrategy::new, opener, 2)
+                .run(out, ResultFormat.JSON_LINES);
+
+        String prefix = "\"path\":[\"" + WordCodec.unpack(opener) + "\"";
+        String[] lines = out.toString().split("\n");
+        assertEquals(dictionary.size(), lines.length);
+        for (String line : lines) {
+            assertTrue(line, line.startsWith("{\"answer\":\"") && line.contains(prefix));
+        }
+    }
+
+    @Test
+    public void stats_keepTheAlphabeticallyFirstWorstAnswers() {
+        SimulationStats first = new SimulationStats(6);
+        SimulationStats second = new SimulationStats(6);
+        for (int answer = 100; answer > 80; answer--) {
+            first.record(answer, 6, false);
+            second.record(answer - 50, 6, false);
+            second.record(answer + 1000, 6, true);
+        }
+        first.record(1, 2, true);
+        first.merge(second);
+
+        assertEquals(40, first.getFailures());
+        assertEquals(21, first.getSolved());
+        assertEquals(7, first.getWorstScore());
+        assertEquals(40, first.getWorstCount());
+        assertArrayEquals(new int[]{31, 32, 33, 34, 35, 36, 37, 38, 39, 40}, first.getWorstAnswers());
+        assertEquals((20 * 6 + 2) / 21.0, first.getAverageGuesses(), 1e-9);
+    }
+}